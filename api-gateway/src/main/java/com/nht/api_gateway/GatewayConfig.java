@@ -8,6 +8,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.function.RouterFunction;
 import org.springframework.web.servlet.function.ServerResponse;
 
+import com.nht.api_gateway.ratelimit.RateLimitFilter;
+
 import static org.springframework.cloud.gateway.server.mvc.filter.FilterFunctions.stripPrefix;
 import static org.springframework.cloud.gateway.server.mvc.handler.GatewayRouterFunctions.route;
 
@@ -15,9 +17,11 @@ import static org.springframework.cloud.gateway.server.mvc.handler.GatewayRouter
 public class GatewayConfig {
 
     private final LoadBalancerClient loadBalancerClient;
+    private final RateLimitFilter rateLimitFilter;
 
-    public GatewayConfig(LoadBalancerClient loadBalancerClient) {
+    public GatewayConfig(LoadBalancerClient loadBalancerClient, RateLimitFilter rateLimitFilter) {
         this.loadBalancerClient = loadBalancerClient;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -32,6 +36,7 @@ public class GatewayConfig {
                            String uri = instance.getUri().toString();
                            return HandlerFunctions.http(uri).handle(request);
                        })
+                .filter(rateLimitFilter.forRoute("identity-service"))
                 .filter(stripPrefix(2))  // Strip both /api and /identity
                 .build();
     }
@@ -48,6 +53,7 @@ public class GatewayConfig {
                            String uri = instance.getUri().toString();
                            return HandlerFunctions.http(uri).handle(request);
                        })
+                .filter(rateLimitFilter.forRoute("core-service"))
                 .filter(stripPrefix(2))  // Strip both /api and /core
                 .build();
     }
@@ -64,6 +70,7 @@ public class GatewayConfig {
                            String uri = instance.getUri().toString();
                            return HandlerFunctions.http(uri).handle(request);
                        })
+                .filter(rateLimitFilter.forRoute("file-service"))
                 .filter(stripPrefix(2))  // Strip both /api and /file
                 .build();
     }
@@ -79,6 +86,7 @@ public class GatewayConfig {
                            String uri = instance.getUri().toString();
                            return HandlerFunctions.http(uri).handle(request);
                        })
+                .filter(rateLimitFilter.forRoute("blockchain-service"))
                 .filter(stripPrefix(2))
                 .build();
     }//
@@ -95,6 +103,7 @@ public class GatewayConfig {
                            String uri = instance.getUri().toString();
                            return HandlerFunctions.http(uri).handle(request);
                        })
+                .filter(rateLimitFilter.forRoute("ai-service"))
                 .filter(stripPrefix(2))
                 .build();
     }
@@ -0,0 +1,186 @@
+package com.nht.api_gateway.ratelimit;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Decides whose bucket a request draws from.
+ * <p>
+ * A Bearer token whose RS256 signature verifies against {@code jwt-public-key} is keyed on its
+ * subject, so signed-in users behind the web proxy or a shared NAT do not share a bucket. A token
+ * that does not verify is ignored rather than trusted, otherwise forged subjects would each get a
+ * fresh bucket. Everything else is keyed on the client IP: the socket peer, or, when the peer is
+ * one of {@code trusted-proxies}, the right-most X-Forwarded-For hop that is not a trusted proxy.
+ */
+public class ClientKeyResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final List<AddressRange> trustedProxies;
+    private final PublicKey jwtPublicKey;
+    private final ObjectMapper objectMapper;
+
+    public ClientKeyResolver(List<String> trustedProxies, String jwtPublicKeyPem, ObjectMapper objectMapper) {
+        this.trustedProxies = trustedProxies.stream()
+                .filter(proxy -> !proxy.isBlank())
+                .map(AddressRange::parse)
+                .toList();
+        this.jwtPublicKey = jwtPublicKeyPem == null || jwtPublicKeyPem.isBlank()
+                ? null
+                : parsePublicKey(jwtPublicKeyPem);
+        this.objectMapper = objectMapper;
+    }
+
+    public String resolve(ServerRequest request) {
+        String subject = subject(request.headers().firstHeader(HttpHeaders.AUTHORIZATION));
+        if (subject != null) {
+            return "user:" + subject;
+        }
+        return "ip:" + clientIp(request.servletRequest().getRemoteAddr(),
+                request.headers().firstHeader("X-Forwarded-For"));
+    }
+
+    String clientIp(String remoteAddr, String forwardedFor) {
+        if (forwardedFor == null || forwardedFor.isBlank() || !isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+        // Entries left of the first untrusted hop were written by the client and prove nothing
+        String[] hops = forwardedFor.split(",");
+        String client = remoteAddr;
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            client = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return client;
+    }
+
+    String subject(String authorization) {
+        if (jwtPublicKey == null || authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        String[] parts = authorization.substring(BEARER_PREFIX.length()).trim().split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            JsonNode header = objectMapper.readTree(decoder.decode(parts[0]));
+            if (!"RS256".equals(header.path("alg").asText())) {
+                return null;
+            }
+            Signature verifier = Signature.getInstance("SHA256withRSA");
+            verifier.initVerify(jwtPublicKey);
+            verifier.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!verifier.verify(decoder.decode(parts[2]))) {
+                return null;
+            }
+            JsonNode claims = objectMapper.readTree(decoder.decode(parts[1]));
+            long expiresAt = claims.path("exp").asLong(0);
+            if (expiresAt > 0 && expiresAt * 1000 < System.currentTimeMillis()) {
+                return null;
+            }
+            String subject = claims.path("sub").asText("");
+            return subject.isBlank() ? null : subject;
+        } catch (Exception e) {
+            // Malformed token: the downstream service rejects it, the request is limited by IP
+            return null;
+        }
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (trustedProxies.isEmpty()) {
+            return false;
+        }
+        byte[] bytes = AddressRange.toBytes(address);
+        if (bytes == null) {
+            return false;
+        }
+        for (AddressRange range : trustedProxies) {
+            if (range.contains(bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static PublicKey parsePublicKey(String pem) {
+        String base64 = pem.replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        try {
+            return KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid gateway.rate-limit.jwt-public-key", e);
+        }
+    }
+
+    /**
+     * An address or CIDR block, e.g. {@code 10.0.0.5} or {@code 172.16.0.0/12}.
+     */
+    record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String value) {
+            String trimmed = value.trim();
+            int slash = trimmed.indexOf('/');
+            byte[] network = toBytes(slash < 0 ? trimmed : trimmed.substring(0, slash));
+            if (network == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+            }
+            int prefixLength = slash < 0 ? network.length * 8 : Integer.parseInt(trimmed.substring(slash + 1));
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xff << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+
+        // Literal IPs only: a header value must never trigger a DNS lookup
+        static byte[] toBytes(String address) {
+            if (address == null
+                    || !(address.matches("[0-9.]+") || address.contains(":") && address.matches("[0-9a-fA-F:.]+"))) {
+                return null;
+            }
+            try {
+                return InetAddress.getByName(address).getAddress();
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
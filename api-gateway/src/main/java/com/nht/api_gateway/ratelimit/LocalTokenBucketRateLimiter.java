@@ -0,0 +1,94 @@
+package com.nht.api_gateway.ratelimit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory token buckets for a single gateway node.
+ * <p>
+ * Buckets are spread over a fixed number of stripes, each a plain map behind its own lock,
+ * so concurrent clients rarely contend. A stripe that reaches {@code max-buckets-per-stripe}
+ * first drops buckets that have refilled completely (they are equivalent to a new one);
+ * if it is still full, an arbitrary bucket is dropped to bound memory.
+ */
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final Stripe[] stripes;
+    private final int maxBucketsPerStripe;
+
+    public LocalTokenBucketRateLimiter(int stripes, int maxBucketsPerStripe) {
+        // Power of two so the stripe index is a mask; the next one up from a non-power
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxBucketsPerStripe = maxBucketsPerStripe;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        long now = System.nanoTime();
+        double perNano = limit.getRefillPerSecond() / NANOS_PER_SECOND;
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxBucketsPerStripe) {
+                    evict(stripe, now);
+                }
+                bucket = new Bucket(limit.getCapacity(), now);
+                stripe.buckets.put(key, bucket);
+            }
+
+            bucket.capacity = limit.getCapacity();
+            bucket.perNano = perNano;
+            bucket.tokens = Math.min(limit.getCapacity(), bucket.tokens + (now - bucket.updatedAt) * perNano);
+            bucket.updatedAt = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return new Decision(true, 0);
+            }
+            long retryAfter = (long) Math.ceil((1 - bucket.tokens) / limit.getRefillPerSecond());
+            return new Decision(false, Math.max(1, retryAfter));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private void evict(Stripe stripe, long now) {
+        stripe.buckets.values().removeIf(b -> b.tokens + (now - b.updatedAt) * b.perNano >= b.capacity);
+        Iterator<Bucket> it = stripe.buckets.values().iterator();
+        if (stripe.buckets.size() >= maxBucketsPerStripe && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedAt;
+        private int capacity;
+        private double perNano;
+
+        private Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
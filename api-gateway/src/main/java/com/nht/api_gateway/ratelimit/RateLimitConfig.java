@@ -0,0 +1,39 @@
+package com.nht.api_gateway.ratelimit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConfigurationProperties("gateway.rate-limit")
+    public RateLimitProperties rateLimitProperties() {
+        return new RateLimitProperties();
+    }
+
+    @Bean
+    public ClientKeyResolver clientKeyResolver(RateLimitProperties properties, ObjectMapper objectMapper) {
+        return new ClientKeyResolver(properties.getTrustedProxies(), properties.getJwtPublicKey(), objectMapper);
+    }
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties,
+                                   ObjectProvider<StringRedisTemplate> stringRedisTemplate,
+                                   MeterRegistry meterRegistry) {
+        RateLimiter local = new LocalTokenBucketRateLimiter(
+                properties.getStripes(), properties.getMaxBucketsPerStripe());
+        if (properties.getMode() == RateLimitProperties.Mode.REDIS) {
+            return new RedisTokenBucketRateLimiter(
+                    stringRedisTemplate.getObject(), local, properties.getRedisOpenSeconds(), meterRegistry);
+        }
+        return local;
+    }
+}
@@ -0,0 +1,59 @@
+package com.nht.api_gateway.ratelimit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.function.HandlerFilterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Admission control for gateway routes: one token bucket per (route, client), where the client is
+ * chosen by {@link ClientKeyResolver}.
+ * <p>
+ * Rejected requests get 429 with {@code Retry-After} and never reach the downstream service.
+ * <p>
+ * Metric: {@code gateway.ratelimit.requests{route, result=allowed|rejected}}.
+ */
+@Component
+public class RateLimitFilter {
+
+    private static final String REJECTED_BODY = "{\"code\":429,\"message\":\"Too many requests\"}";
+
+    private final RateLimiter rateLimiter;
+    private final ClientKeyResolver clientKeyResolver;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ClientKeyResolver clientKeyResolver,
+                           RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.clientKeyResolver = clientKeyResolver;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public HandlerFilterFunction<ServerResponse, ServerResponse> forRoute(String routeId) {
+        return (request, next) -> {
+            if (!properties.isEnabled()) {
+                return next.handle(request);
+            }
+
+            RateLimiter.Decision decision = rateLimiter.tryAcquire(
+                    routeId + ":" + clientKeyResolver.resolve(request), properties.limitFor(routeId));
+            if (!decision.allowed()) {
+                meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "result", "rejected")
+                        .increment();
+                return ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header("Retry-After", String.valueOf(decision.retryAfterSeconds()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(REJECTED_BODY);
+            }
+
+            meterRegistry.counter("gateway.ratelimit.requests", "route", routeId, "result", "allowed").increment();
+            return next.handle(request);
+        };
+    }
+}
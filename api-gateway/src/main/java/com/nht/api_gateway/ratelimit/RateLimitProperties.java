@@ -0,0 +1,129 @@
+package com.nht.api_gateway.ratelimit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket settings bound from {@code gateway.rate-limit.*}.
+ * Each client gets one bucket per route; {@code routes} overrides the default limit by route id.
+ * Off by default: until {@code trusted-proxies} names the web proxy, every anonymous browser
+ * reaches the gateway from the proxy's address and would share one bucket.
+ */
+public class RateLimitProperties {
+
+    public enum Mode { LOCAL, REDIS }
+
+    private boolean enabled = false;
+    private Mode mode = Mode.LOCAL;
+    // After a Redis failure, how long mode redis uses local buckets before trying Redis again
+    private long redisOpenSeconds = 5;
+    private int stripes = 64;
+    private int maxBucketsPerStripe = 4096;
+    // Peers whose X-Forwarded-For is believed, as addresses or CIDR blocks
+    private List<String> trustedProxies = new ArrayList<>();
+    // PEM public key of the identity service; when set, verified tokens are limited per subject
+    private String jwtPublicKey;
+    private Limit defaultLimit = new Limit();
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public Limit limitFor(String routeId) {
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+
+    public static class Limit {
+        // Burst size: requests a client may send at once after being idle
+        private int capacity = 100;
+        // Sustained rate
+        private double refillPerSecond = 50;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public long getRedisOpenSeconds() {
+        return redisOpenSeconds;
+    }
+
+    public void setRedisOpenSeconds(long redisOpenSeconds) {
+        this.redisOpenSeconds = redisOpenSeconds;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public int getMaxBucketsPerStripe() {
+        return maxBucketsPerStripe;
+    }
+
+    public void setMaxBucketsPerStripe(int maxBucketsPerStripe) {
+        this.maxBucketsPerStripe = maxBucketsPerStripe;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public String getJwtPublicKey() {
+        return jwtPublicKey;
+    }
+
+    public void setJwtPublicKey(String jwtPublicKey) {
+        this.jwtPublicKey = jwtPublicKey;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+}
@@ -0,0 +1,15 @@
+package com.nht.api_gateway.ratelimit;
+
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket identified by {@code key}.
+     */
+    Decision tryAcquire(String key, RateLimitProperties.Limit limit);
+
+    /**
+     * @param retryAfterSeconds when rejected, seconds until a token is available
+     */
+    record Decision(boolean allowed, long retryAfterSeconds) {
+    }
+}
@@ -0,0 +1,108 @@
+package com.nht.api_gateway.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Token buckets shared by all gateway nodes, one Redis hash per bucket.
+ * <p>
+ * Refill and take run in one Lua script against the Redis clock, so nodes with skewed
+ * clocks still agree. Each bucket expires once it would have refilled completely.
+ * When Redis is unavailable the node falls back to its local buckets instead of
+ * rejecting or letting everything through. A failure opens a simple circuit: for the
+ * next {@code redis-open-seconds} requests go straight to the local buckets without
+ * waiting on the Redis timeout, then a single request probes Redis again. Opening and
+ * closing are logged once each; {@code gateway.ratelimit.redis.fallback} counts every
+ * request that used the local buckets.
+ */
+public class RedisTokenBucketRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisTokenBucketRateLimiter.class);
+
+    private static final String KEY_PREFIX = "gateway:ratelimit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_SCRIPT = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) / 1000000 * rate)
+            local allowed = 0
+            local retry = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                retry = math.max(1, math.ceil((1 - tokens) / rate))
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate * 1000) + 1000)
+            return {allowed, retry}
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RateLimiter fallback;
+    private final Counter fallbacks;
+    private final long openNanos;
+
+    private final AtomicBoolean open = new AtomicBoolean();
+    // System.nanoTime() after which the next request may probe Redis while open
+    private final AtomicLong retryAt = new AtomicLong();
+
+    public RedisTokenBucketRateLimiter(StringRedisTemplate stringRedisTemplate, RateLimiter fallback,
+                                       long openSeconds, MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.fallback = fallback;
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.fallbacks = Counter.builder("gateway.ratelimit.redis.fallback").register(meterRegistry);
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimitProperties.Limit limit) {
+        if (!open.get() || claimProbe()) {
+            try {
+                List<?> result = stringRedisTemplate.execute(TAKE_SCRIPT, List.of(KEY_PREFIX + key),
+                        String.valueOf(limit.getCapacity()), String.valueOf(limit.getRefillPerSecond()));
+                if (result == null || result.size() != 2) {
+                    throw new IllegalStateException("Unexpected rate limit script result: " + result);
+                }
+                if (open.compareAndSet(true, false)) {
+                    log.info("Redis rate limiter recovered, using shared buckets again");
+                }
+                return new Decision(
+                        ((Number) result.get(0)).longValue() == 1,
+                        ((Number) result.get(1)).longValue());
+            } catch (Exception e) {
+                retryAt.set(System.nanoTime() + openNanos);
+                if (open.compareAndSet(false, true)) {
+                    log.warn("Redis rate limiter unavailable, using local buckets for the next {} ms: {}",
+                            TimeUnit.NANOSECONDS.toMillis(openNanos), e.toString());
+                }
+            }
+        }
+        fallbacks.increment();
+        return fallback.tryAcquire(key, limit);
+    }
+
+    // Lets exactly one request through once the open period is over; the others keep falling back
+    private boolean claimProbe() {
+        long at = retryAt.get();
+        long now = System.nanoTime();
+        return now - at >= 0 && retryAt.compareAndSet(at, now + openNanos);
+    }
+}
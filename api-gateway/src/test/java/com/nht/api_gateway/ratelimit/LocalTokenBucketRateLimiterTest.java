@@ -0,0 +1,82 @@
+package com.nht.api_gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LocalTokenBucketRateLimiterTest {
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(4, 100);
+        RateLimitProperties.Limit limit = limit(3, 0.001);
+
+        assertThat(limiter.tryAcquire("client", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("client", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("client", limit).allowed()).isTrue();
+
+        RateLimiter.Decision rejected = limiter.tryAcquire("client", limit);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isPositive();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(4, 100);
+        RateLimitProperties.Limit limit = limit(1, 100);
+
+        assertThat(limiter.tryAcquire("client", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("client", limit).allowed()).isFalse();
+
+        // 100 tokens/s: one token back after 10 ms
+        Thread.sleep(50);
+        assertThat(limiter.tryAcquire("client", limit).allowed()).isTrue();
+    }
+
+    @Test
+    void keepsClientsInSeparateBuckets() {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(4, 100);
+        RateLimitProperties.Limit limit = limit(1, 0.001);
+
+        assertThat(limiter.tryAcquire("a", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a", limit).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("b", limit).allowed()).isTrue();
+    }
+
+    @Test
+    void evictsRefilledBucketsBeforeDrainedOnes() {
+        // One stripe holding two buckets
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(1, 2);
+        RateLimitProperties.Limit slow = limit(1, 0.001);
+        RateLimitProperties.Limit instant = limit(1, 1_000_000_000);
+
+        limiter.tryAcquire("drained", slow);
+        limiter.tryAcquire("refilled", instant);
+        limiter.tryAcquire("newcomer", slow);
+
+        // Had "drained" been evicted instead, it would get a fresh bucket and be allowed
+        assertThat(limiter.tryAcquire("drained", slow).allowed()).isFalse();
+    }
+
+    @Test
+    void dropsSomeBucketWhenNoneHasRefilled() {
+        LocalTokenBucketRateLimiter limiter = new LocalTokenBucketRateLimiter(1, 2);
+        RateLimitProperties.Limit slow = limit(1, 0.001);
+
+        limiter.tryAcquire("a", slow);
+        limiter.tryAcquire("b", slow);
+        limiter.tryAcquire("c", slow);
+
+        // The stripe stays bounded, so one of the drained clients starts over with a full bucket
+        boolean aAllowed = limiter.tryAcquire("a", slow).allowed();
+        boolean bAllowed = !aAllowed && limiter.tryAcquire("b", slow).allowed();
+        assertThat(aAllowed || bAllowed).isTrue();
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+}
@@ -0,0 +1,185 @@
+package com.nht.core_service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nht.core_service.dto.response.CampaignResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-tier read-through cache for {@link CampaignResponse}.
+ * <p>
+ * Tier 1 is a size-bounded, short-lived Caffeine cache local to this node.
+ * Tier 2 is Redis, shared by every core-service node. Writers call
+ * {@link #evict(String)}, which drops the Redis entry and broadcasts the
+ * campaign ID on {@link #INVALIDATION_CHANNEL} so every node clears its near cache.
+ * <p>
+ * Each campaign also has a version in Redis that {@link #evict(String)} bumps. A loader
+ * takes it before reading MongoDB and only writes its result to Redis if it is unchanged,
+ * so a load that raced a write can no longer cache the old value for the full TTL.
+ * <p>
+ * Metrics: {@code cache.*{cache=campaignDetail}} for the near cache and
+ * {@code campaign.detail.cache.redis{result=hit|miss}} for the Redis tier.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignDetailCache implements MessageListener {
+
+	public static final String INVALIDATION_CHANNEL = "campaign-cache-invalidation";
+	private static final String KEY_PREFIX = "campaign:detail:";
+	private static final String CACHE_NAME = "campaignDetail";
+
+	// Cache the detail only if no writer evicted since the loader took the version
+	private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>("""
+			if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+				return 0
+			end
+			redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+			return 1
+			""", Long.class);
+
+	// Bump the version before dropping the entry, so a fill that read older data can no longer land
+	private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+			redis.call('INCR', KEYS[2])
+			redis.call('DEL', KEYS[1])
+			return 1
+			""", Long.class);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${campaign.cache.near.max-size:1000}")
+	private long nearMaxSize;
+
+	@Value("${campaign.cache.near.ttl-seconds:10}")
+	private long nearTtlSeconds;
+
+	@Value("${campaign.cache.redis.ttl-seconds:300}")
+	private long redisTtlSeconds;
+
+	private Cache<String, CampaignResponse> nearCache;
+	private Counter redisHits;
+	private Counter redisMisses;
+	private Counter invalidationsReceived;
+
+	@PostConstruct
+	void init() {
+		nearCache = Caffeine.newBuilder()
+				.maximumSize(nearMaxSize)
+				.expireAfterWrite(Duration.ofSeconds(nearTtlSeconds))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, nearCache, CACHE_NAME);
+
+		redisHits = Counter.builder("campaign.detail.cache.redis")
+				.tag("result", "hit")
+				.register(meterRegistry);
+		redisMisses = Counter.builder("campaign.detail.cache.redis")
+				.tag("result", "miss")
+				.register(meterRegistry);
+		invalidationsReceived = Counter.builder("campaign.detail.cache.invalidations")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Returns the cached campaign detail, falling back to Redis and then to the loader.
+	 * Concurrent misses for the same campaign on this node share a single load.
+	 */
+	public CampaignResponse get(String campaignId, Supplier<CampaignResponse> loader) {
+		return nearCache.get(campaignId, id -> {
+			CampaignResponse cached = readFromRedis(id);
+			if (cached != null) {
+				redisHits.increment();
+				return cached;
+			}
+			redisMisses.increment();
+
+			// Taken before the load: an evict after this point voids the fill
+			String version = readVersion(id);
+			CampaignResponse loaded = loader.get();
+			if (version != null) {
+				writeToRedis(id, version, loaded);
+			}
+			return loaded;
+		});
+	}
+
+	/**
+	 * Drops the campaign from both tiers and tells the other nodes to drop it too.
+	 */
+	public void evict(String campaignId) {
+		nearCache.invalidate(campaignId);
+		try {
+			stringRedisTemplate.execute(EVICT_SCRIPT, List.of(KEY_PREFIX + campaignId, versionKey(campaignId)));
+			stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, campaignId);
+			log.debug("Evicted campaign detail cache: {}", campaignId);
+		} catch (Exception e) {
+			log.error("Failed to evict campaign detail cache for campaign={}", campaignId, e);
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String campaignId = new String(message.getBody(), StandardCharsets.UTF_8);
+		nearCache.invalidate(campaignId);
+		invalidationsReceived.increment();
+	}
+
+	private CampaignResponse readFromRedis(String campaignId) {
+		try {
+			String json = stringRedisTemplate.opsForValue().get(KEY_PREFIX + campaignId);
+			return json != null ? objectMapper.readValue(json, CampaignResponse.class) : null;
+		} catch (Exception e) {
+			log.warn("Failed to read campaign detail from Redis: {}", campaignId, e);
+			return null;
+		}
+	}
+
+	private String readVersion(String campaignId) {
+		try {
+			return Objects.requireNonNullElse(stringRedisTemplate.opsForValue().get(versionKey(campaignId)), "0");
+		} catch (Exception e) {
+			log.warn("Failed to read campaign detail version from Redis: {}", campaignId, e);
+			return null;
+		}
+	}
+
+	private void writeToRedis(String campaignId, String version, CampaignResponse response) {
+		try {
+			stringRedisTemplate.execute(
+					FILL_SCRIPT,
+					List.of(KEY_PREFIX + campaignId, versionKey(campaignId)),
+					version, objectMapper.writeValueAsString(response), String.valueOf(redisTtlSeconds));
+		} catch (Exception e) {
+			log.warn("Failed to write campaign detail to Redis: {}", campaignId, e);
+		}
+	}
+
+	// No TTL: an expired version restarting at 1 could match a fill that read version 1 earlier
+	private String versionKey(String campaignId) {
+		return KEY_PREFIX + campaignId + ":version";
+	}
+}
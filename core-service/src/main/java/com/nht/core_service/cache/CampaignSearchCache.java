@@ -0,0 +1,56 @@
+package com.nht.core_service.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nht.core_service.dto.response.CampaignPageResponse;
+import com.nht.core_service.enums.CampaignStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Small per-node cache of hot campaign search result pages.
+ * Entries are short-lived rather than invalidated, since any campaign write could change a ranking.
+ */
+@Component
+@RequiredArgsConstructor
+public class CampaignSearchCache {
+
+	private static final String CACHE_NAME = "campaignSearch";
+
+	private final MeterRegistry meterRegistry;
+
+	@Value("${campaign.search.cache.max-size:500}")
+	private long maxSize;
+
+	@Value("${campaign.search.cache.ttl-seconds:30}")
+	private long ttlSeconds;
+
+	private Cache<SearchKey, List<CampaignPageResponse>> cache;
+
+	public record SearchKey(String query, CampaignStatus status, String ownerId, int page, int size) {}
+
+	@PostConstruct
+	void init() {
+		cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public List<CampaignPageResponse> get(SearchKey key, Supplier<List<CampaignPageResponse>> loader) {
+		return cache.get(key, k -> loader.get());
+	}
+}
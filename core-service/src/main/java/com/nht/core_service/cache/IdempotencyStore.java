@@ -0,0 +1,81 @@
+package com.nht.core_service.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Idempotency-Key records in Redis, one JSON {@link Entry} per key.
+ * <p>
+ * A key is first claimed with SET NX as an in-progress marker that expires after
+ * {@code lock-ttl-seconds}, so a crashed request does not block retries forever.
+ * The finished response then replaces it for {@code ttl-seconds}.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+	private static final String KEY_PREFIX = "idempotency:";
+	private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ObjectMapper objectMapper;
+
+	@Value("${idempotency.ttl-seconds:86400}")
+	private long ttlSeconds;
+
+	@Value("${idempotency.lock-ttl-seconds:60}")
+	private long lockTtlSeconds;
+
+	/**
+	 * Stored state of a key. {@code status} is 0 while the first request is still running.
+	 */
+	public record Entry(String fingerprint, int status, String contentType, String body) {
+
+		public boolean inProgress() {
+			return status == 0;
+		}
+	}
+
+	/**
+	 * Claims the key for this request. Returns null when claimed, otherwise the existing entry.
+	 * If the key keeps vanishing between SET NX and GET (another request releasing it each
+	 * time), an in-progress entry for this fingerprint is returned, so the caller is told to
+	 * retry rather than run the request unclaimed.
+	 */
+	public Entry claim(String key, String fingerprint) throws JsonProcessingException {
+		Entry marker = new Entry(fingerprint, 0, null, null);
+		String markerJson = objectMapper.writeValueAsString(marker);
+		for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+			Boolean claimed = stringRedisTemplate.opsForValue()
+					.setIfAbsent(KEY_PREFIX + key, markerJson, Duration.ofSeconds(lockTtlSeconds));
+			if (Boolean.TRUE.equals(claimed)) {
+				return null;
+			}
+			String existing = stringRedisTemplate.opsForValue().get(KEY_PREFIX + key);
+			if (existing != null) {
+				return objectMapper.readValue(existing, Entry.class);
+			}
+		}
+		return marker;
+	}
+
+	public void complete(String key, Entry entry) throws JsonProcessingException {
+		stringRedisTemplate.opsForValue()
+				.set(KEY_PREFIX + key, objectMapper.writeValueAsString(entry), Duration.ofSeconds(ttlSeconds));
+	}
+
+	/**
+	 * Drops the in-progress marker so the client may retry, used when the request failed server-side.
+	 */
+	public void release(String key) {
+		stringRedisTemplate.delete(KEY_PREFIX + key);
+	}
+}
@@ -0,0 +1,134 @@
+package com.nht.core_service.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nht.core_service.dto.response.LiveDonationResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The landing page's recent-donations feed as a capped Redis list of
+ * {@link LiveDonationResponse} JSON, newest first, campaign title included.
+ * <p>
+ * Completed donations are pushed onto the list only while it exists; a missing list
+ * is rebuilt by the reader from its loader and expires after {@code ttl-seconds}, so
+ * a push lost to a concurrent rebuild is corrected on the next one.
+ * <p>
+ * Metric: {@code donation.live.feed.cache{result=hit|miss}}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LiveDonationFeedCache {
+
+	private static final String KEY = "donations:live-feed";
+
+	// Drop any entry with the same donation id first, so neither a retried push nor a push
+	// landing after a rebuild that already loaded the donation shows it twice
+	private static final RedisScript<Long> PUSH_SCRIPT = new DefaultRedisScript<>("""
+			if redis.call('EXISTS', KEYS[1]) == 0 then
+				return 0
+			end
+			for _, entry in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do
+				local ok, decoded = pcall(cjson.decode, entry)
+				if ok and decoded['id'] == ARGV[3] then
+					redis.call('LREM', KEYS[1], 0, entry)
+				end
+			end
+			redis.call('LPUSH', KEYS[1], ARGV[1])
+			redis.call('LTRIM', KEYS[1], 0, tonumber(ARGV[2]) - 1)
+			return 1
+			""", Long.class);
+
+	// Replace the whole list in one step so two concurrent rebuilds cannot interleave into a doubled feed
+	private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>("""
+			redis.call('DEL', KEYS[1])
+			for i = 2, #ARGV do
+				redis.call('RPUSH', KEYS[1], ARGV[i])
+			end
+			redis.call('EXPIRE', KEYS[1], tonumber(ARGV[1]))
+			return 1
+			""", Long.class);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${donation.live-feed.size:10}")
+	private int size;
+
+	@Value("${donation.live-feed.ttl-seconds:600}")
+	private long ttlSeconds;
+
+	private Counter hits;
+	private Counter misses;
+
+	@PostConstruct
+	void init() {
+		hits = Counter.builder("donation.live.feed.cache").tag("result", "hit").register(meterRegistry);
+		misses = Counter.builder("donation.live.feed.cache").tag("result", "miss").register(meterRegistry);
+	}
+
+	/**
+	 * Returns the feed with one LRANGE, falling back to the loader (and caching its result) on a miss.
+	 */
+	public List<LiveDonationResponse> getRecent(Supplier<List<LiveDonationResponse>> loader) {
+		try {
+			List<String> entries = stringRedisTemplate.opsForList().range(KEY, 0, size - 1);
+			if (entries != null && !entries.isEmpty()) {
+				List<LiveDonationResponse> feed = new ArrayList<>(entries.size());
+				for (String entry : entries) {
+					feed.add(objectMapper.readValue(entry, LiveDonationResponse.class));
+				}
+				hits.increment();
+				return feed;
+			}
+		} catch (Exception e) {
+			log.warn("Failed to read live donation feed from Redis", e);
+		}
+		misses.increment();
+
+		List<LiveDonationResponse> loaded = loader.get();
+		seed(loaded);
+		return loaded;
+	}
+
+	/**
+	 * Adds a completed donation to the head of the feed. Throws so the caller can retry.
+	 */
+	public void push(LiveDonationResponse donation) throws Exception {
+		stringRedisTemplate.execute(
+				PUSH_SCRIPT, List.of(KEY),
+				objectMapper.writeValueAsString(donation), String.valueOf(size), donation.id());
+	}
+
+	private void seed(List<LiveDonationResponse> feed) {
+		if (feed.isEmpty()) {
+			return;
+		}
+		try {
+			List<String> args = new ArrayList<>(feed.size() + 1);
+			args.add(String.valueOf(ttlSeconds));
+			for (LiveDonationResponse donation : feed) {
+				args.add(objectMapper.writeValueAsString(donation));
+			}
+			stringRedisTemplate.execute(SEED_SCRIPT, List.of(KEY), args.toArray());
+		} catch (Exception e) {
+			log.warn("Failed to seed live donation feed in Redis", e);
+		}
+	}
+}
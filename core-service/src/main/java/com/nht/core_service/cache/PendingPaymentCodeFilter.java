@@ -0,0 +1,177 @@
+package com.nht.core_service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.enums.PaymentStatus;
+import com.nht.core_service.utils.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bloom filter of payment codes of PENDING donations, so bank transfers that are not
+ * ours can be rejected without a database lookup.
+ * <p>
+ * New codes are added locally and broadcast on {@link #CODE_ADDED_CHANNEL} so every
+ * node's filter sees donations initialized elsewhere, but a broadcast can be lost, so a
+ * miss is only trusted for codes issued before the last rebuild's scan started (minus
+ * a clock-skew margin); the code carries its issue time. Newer codes, and every code
+ * before the first build, are a "maybe" and go to the database. Bloom filters cannot
+ * delete, so {@link #rebuild()} periodically reloads the live PENDING set.
+ * <p>
+ * Metrics: {@code payment.code.filter.checks{result=negative|positive|unconfirmed}},
+ * {@code payment.code.filter.false.positives} (positive with no matching donation)
+ * and {@code payment.code.filter.expected.fpp}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PendingPaymentCodeFilter implements MessageListener {
+
+	public static final String CODE_ADDED_CHANNEL = "payment-code-added";
+	// Codes added this recently are re-applied after a rebuild that may have missed them
+	private static final Duration RECENT_WINDOW = Duration.ofMinutes(10);
+
+	private final JdbcTemplate jdbcTemplate;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${payment.code-filter.expected-insertions:100000}")
+	private long expectedInsertions;
+
+	@Value("${payment.code-filter.false-positive-rate:0.01}")
+	private double falsePositiveRate;
+
+	@Value("${payment.code-filter.clock-skew-margin-seconds:300}")
+	private long clockSkewMarginSeconds;
+
+	private final Map<String, Instant> recentCodes = new ConcurrentHashMap<>();
+	private volatile BloomFilter filter;
+	// Epoch millis; a miss for a code issued at or after this may just be a lost broadcast
+	private volatile long trustMissesBefore = Long.MIN_VALUE;
+
+	private Counter negatives;
+	private Counter positives;
+	private Counter unconfirmed;
+	private Counter falsePositives;
+
+	@PostConstruct
+	void init() {
+		negatives = Counter.builder("payment.code.filter.checks").tag("result", "negative").register(meterRegistry);
+		positives = Counter.builder("payment.code.filter.checks").tag("result", "positive").register(meterRegistry);
+		unconfirmed = Counter.builder("payment.code.filter.checks").tag("result", "unconfirmed").register(meterRegistry);
+		falsePositives = Counter.builder("payment.code.filter.false.positives").register(meterRegistry);
+		Gauge.builder("payment.code.filter.expected.fpp", this,
+						f -> f.filter == null ? 0 : f.filter.expectedFalsePositiveRate())
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Adds a newly issued payment code here and on every other node.
+	 */
+	public void add(String paymentCode) {
+		addLocally(paymentCode);
+		try {
+			stringRedisTemplate.convertAndSend(CODE_ADDED_CHANNEL, paymentCode);
+		} catch (Exception e) {
+			// Other nodes miss it until their next rebuild, and meanwhile look it up in the database
+			log.error("Failed to broadcast payment code {}", paymentCode, e);
+		}
+	}
+
+	/**
+	 * False means the code is certainly not a PENDING donation's.
+	 */
+	public boolean mightContain(String paymentCode) {
+		BloomFilter current = filter;
+		if (current == null || current.mightContain(paymentCode)) {
+			positives.increment();
+			return true;
+		}
+		long issuedAt = issuedAt(paymentCode);
+		if (issuedAt < 0 || issuedAt >= trustMissesBefore) {
+			// Issued after the scan this filter was built from: only the broadcast could have added it
+			unconfirmed.increment();
+			return true;
+		}
+		negatives.increment();
+		return false;
+	}
+
+	// Called when a positive turned out to have no donation behind it
+	public void recordFalsePositive() {
+		falsePositives.increment();
+	}
+
+	/**
+	 * Builds a fresh filter from the donation table and swaps it in.
+	 */
+	public void rebuild() {
+		// Before the scan: a code issued earlier is either in the scan or committed too late for it (the margin)
+		long scanStartedAt = System.currentTimeMillis();
+		Long pending = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM donation WHERE payment_status = ?", Long.class, PaymentStatus.PENDING.name());
+		long capacity = Math.max(expectedInsertions, pending == null ? 0 : pending * 2);
+		BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+
+		jdbcTemplate.query(
+				"SELECT payment_code FROM donation WHERE payment_status = ?",
+				(RowCallbackHandler) rs -> rebuilt.put(rs.getString(1)),
+				PaymentStatus.PENDING.name());
+
+		filter = rebuilt;
+		// Raised only after the swap, so the old filter is never trusted with the new threshold
+		trustMissesBefore = scanStartedAt - Duration.ofSeconds(clockSkewMarginSeconds).toMillis();
+		// Codes from transactions that committed after the scan started
+		Instant cutoff = Instant.now().minus(RECENT_WINDOW);
+		recentCodes.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+		recentCodes.keySet().forEach(rebuilt::put);
+
+		log.info("Rebuilt pending payment code filter: {} codes, capacity {}", rebuilt.insertions(), capacity);
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		addLocally(new String(message.getBody(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Issue time in epoch millis from a code made by DonationServiceImpl.generatePaymentCode
+	 * ("TS" + currentTimeMillis + 6 random chars), or -1 when the code does not have that shape.
+	 */
+	static long issuedAt(String paymentCode) {
+		if (paymentCode == null || paymentCode.length() < 15 || !paymentCode.startsWith("TS")) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(paymentCode.substring(2, 15));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private void addLocally(String paymentCode) {
+		recentCodes.put(paymentCode, Instant.now());
+		BloomFilter current = filter;
+		if (current != null) {
+			current.put(paymentCode);
+		}
+	}
+}
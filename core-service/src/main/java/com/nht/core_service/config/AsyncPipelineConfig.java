@@ -0,0 +1,27 @@
+package com.nht.core_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.nht.core_service.utils.KeyedSerialExecutor;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class AsyncPipelineConfig {
+
+	@Bean
+	public KeyedSerialExecutor donationSideEffectExecutor(
+			MeterRegistry meterRegistry,
+			@Value("${donation.side-effects.lanes:8}") int lanes,
+			@Value("${donation.side-effects.queue-capacity:1000}") int queueCapacity,
+			@Value("${donation.side-effects.virtual-threads:true}") boolean virtualThreads) {
+		KeyedSerialExecutor executor =
+				new KeyedSerialExecutor("donation-side-effects", lanes, queueCapacity, virtualThreads);
+		Gauge.builder("donation.side.effects.queued", executor, KeyedSerialExecutor::queuedTasks)
+				.register(meterRegistry);
+		return executor;
+	}
+}
@@ -0,0 +1,71 @@
+package com.nht.core_service.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nht.core_service.enums.PaymentStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Seeds campaign_donation_stats and campaign_donor from the donation table whenever the
+ * stats do not add up to the COMPLETED donations, so campaigns with donations from before
+ * the stats existed start from their real totals.
+ * <p>
+ * Runs once all singletons exist, before Tomcat and the Kafka listener containers start,
+ * so this node takes no completions while it seeds. Other nodes may still be completing
+ * donations: both tables are locked against writers for the duration, then every row is
+ * overwritten with the aggregate, which already includes whatever committed before the lock.
+ */
+@Configuration
+@Slf4j
+public class CampaignDonationStatsBackfillConfig {
+
+	private static final String DONOR_KEY = "LOWER(COALESCE(NULLIF(TRIM(donor_email), ''), TRIM(donor_full_name)))";
+
+	@Bean
+	SmartInitializingSingleton backfillCampaignDonationStats(
+			JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+		return () -> {
+			Boolean upToDate = jdbcTemplate.queryForObject("""
+					SELECT (SELECT COALESCE(SUM(donation_count), 0) FROM campaign_donation_stats)
+						= (SELECT COUNT(*) FROM donation WHERE payment_status = ?)
+					""", Boolean.class, PaymentStatus.COMPLETED.name());
+			if (Boolean.TRUE.equals(upToDate)) {
+				return;
+			}
+
+			Integer campaigns = transactionTemplate.execute(status -> {
+				// Blocks registerDonor/recordDonation until commit; a completion already past them is waited for
+				jdbcTemplate.execute("LOCK TABLE campaign_donor, campaign_donation_stats IN SHARE ROW EXCLUSIVE MODE");
+				jdbcTemplate.update("""
+						INSERT INTO campaign_donor (campaign_id, donor_key)
+						SELECT DISTINCT campaign_id, %s
+						FROM donation
+						WHERE payment_status = ?
+						ON CONFLICT (campaign_id, donor_key) DO NOTHING
+						""".formatted(DONOR_KEY), PaymentStatus.COMPLETED.name());
+				return jdbcTemplate.update("""
+						INSERT INTO campaign_donation_stats
+							(campaign_id, donation_count, total_amount, unique_donors, last_donation_at)
+						SELECT campaign_id, COUNT(*), SUM(amount), COUNT(DISTINCT %s), MAX(created_at)
+						FROM donation
+						WHERE payment_status = ?
+						GROUP BY campaign_id
+						ON CONFLICT (campaign_id) DO UPDATE SET
+							donation_count = EXCLUDED.donation_count,
+							total_amount = EXCLUDED.total_amount,
+							unique_donors = EXCLUDED.unique_donors,
+							last_donation_at = GREATEST(campaign_donation_stats.last_donation_at, EXCLUDED.last_donation_at)
+						""".formatted(DONOR_KEY), PaymentStatus.COMPLETED.name());
+			});
+
+			if (campaigns != null && campaigns > 0) {
+				log.warn("Backfilled donation stats for {} campaigns", campaigns);
+			}
+		};
+	}
+}
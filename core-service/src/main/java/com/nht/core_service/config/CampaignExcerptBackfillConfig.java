@@ -0,0 +1,70 @@
+package com.nht.core_service.config;
+
+import java.util.stream.Stream;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.nht.core_service.document.Campaign;
+import com.nht.core_service.utils.ExcerptUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills {@code excerpt} on campaigns created before list projections existed,
+ * so list pages that no longer load {@code content} still have a summary.
+ */
+@Configuration
+@Slf4j
+public class CampaignExcerptBackfillConfig {
+
+	private static final int BATCH_SIZE = 500;
+
+	@Bean
+	ApplicationRunner backfillCampaignExcerpts(MongoTemplate mongoTemplate) {
+		return args -> {
+			Query query = new Query(Criteria.where("excerpt").exists(false));
+			query.fields().include("content");
+			query.cursorBatchSize(BATCH_SIZE);
+
+			BulkOperations bulkOps = null;
+			int pending = 0;
+			int updated = 0;
+
+			try (Stream<Campaign> campaigns = mongoTemplate.stream(query, Campaign.class)) {
+				for (Campaign campaign : (Iterable<Campaign>) campaigns::iterator) {
+					if (bulkOps == null) {
+						bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+					}
+					String excerpt = ExcerptUtils.excerptOf(campaign.getContent());
+					bulkOps.updateOne(
+							new Query(Criteria.where("id").is(campaign.getId())),
+							new Update().set("excerpt", excerpt != null ? excerpt : ""));
+					pending++;
+
+					if (pending == BATCH_SIZE) {
+						bulkOps.execute();
+						updated += pending;
+						pending = 0;
+						bulkOps = null;
+					}
+				}
+			}
+
+			if (pending > 0) {
+				bulkOps.execute();
+				updated += pending;
+			}
+
+			if (updated > 0) {
+				log.warn("Backfilled excerpt for {} legacy campaigns", updated);
+			}
+		};
+	}
+}
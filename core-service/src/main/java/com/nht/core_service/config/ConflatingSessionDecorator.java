@@ -0,0 +1,197 @@
+package com.nht.core_service.config;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Outbound side of one STOMP session. {@link #sendMessage} only queues the frame, and a
+ * single drain task writes queued frames to the socket in order, so the
+ * ConcurrentWebSocketSessionDecorator that SubProtocolWebSocketHandler puts in front of
+ * this one never backs up and never disconnects a slow client for its buffer size.
+ * <p>
+ * Instead, a queued stats frame is replaced by a newer one for the same destination, and
+ * once the queued bytes exceed the limit the oldest queued stats frames are dropped; the
+ * next broadcast carries the current numbers anyway. Every other frame (activity, proof
+ * updates, live feed, RECEIPT/ERROR) is delivered or not at all: if the session is still
+ * over the limit without its stats frames, it is closed, as ConcurrentWebSocketSessionDecorator
+ * would, rather than silently losing part of the STOMP stream. A single write that takes
+ * longer than the send time limit also closes the session.
+ * <p>
+ * Metrics: {@code websocket.stats.dropped} and {@code websocket.session.overflow.closed}.
+ */
+@Slf4j
+public class ConflatingSessionDecorator extends WebSocketSessionDecorator {
+
+	private static final String STATS_SUFFIX = "/stats";
+	private static final String DESTINATION_HEADER = "\ndestination:";
+
+	private final Executor writer;
+	private final int bufferSizeLimit;
+	private final long sendTimeLimitMs;
+	private final Counter staleDropped;
+	private final Counter overflowClosed;
+
+	// Guarded by itself, together with queuedBytes and draining
+	private final Deque<Pending> queue = new ArrayDeque<>();
+	private long queuedBytes;
+	private boolean draining;
+
+	private volatile boolean closed;
+	private volatile long sendStartedAt;
+
+	public ConflatingSessionDecorator(WebSocketSession delegate, Executor writer, int bufferSizeLimit,
+			long sendTimeLimitMs, MeterRegistry meterRegistry) {
+		super(delegate);
+		this.writer = writer;
+		this.bufferSizeLimit = bufferSizeLimit;
+		this.sendTimeLimitMs = sendTimeLimitMs;
+		this.staleDropped = meterRegistry.counter("websocket.stats.dropped");
+		this.overflowClosed = meterRegistry.counter("websocket.session.overflow.closed");
+	}
+
+	@Override
+	public void sendMessage(WebSocketMessage<?> message) throws IOException {
+		if (closed) {
+			return;
+		}
+		String statsDestination = statsDestination(message);
+		boolean startDrain;
+		boolean overflow;
+		synchronized (queue) {
+			if (statsDestination != null) {
+				dropQueuedStats(statsDestination);
+			}
+			queue.addLast(new Pending(message, statsDestination));
+			queuedBytes += message.getPayloadLength();
+			if (queuedBytes > bufferSizeLimit) {
+				dropStatsUntilWithinLimit();
+			}
+			// A lone frame over the limit is still sent, the same as ConcurrentWebSocketSessionDecorator
+			overflow = queuedBytes > bufferSizeLimit && queue.size() > 1;
+			startDrain = !draining;
+			draining = true;
+		}
+
+		if (overflow) {
+			overflowClosed.increment();
+			log.warn("WebSocket session {} queued more than {} bytes besides stats, closing it",
+					getId(), bufferSizeLimit);
+			closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+		} else if (startDrain) {
+			writer.execute(this::drain);
+		} else {
+			checkSendTime();
+		}
+	}
+
+	@Override
+	public void close(CloseStatus status) throws IOException {
+		markClosed();
+		super.close(status);
+	}
+
+	void markClosed() {
+		closed = true;
+		synchronized (queue) {
+			queue.clear();
+			queuedBytes = 0;
+		}
+	}
+
+	private void drain() {
+		while (true) {
+			Pending next;
+			synchronized (queue) {
+				next = queue.pollFirst();
+				if (next == null || closed) {
+					draining = false;
+					return;
+				}
+				queuedBytes -= next.message().getPayloadLength();
+			}
+			sendStartedAt = System.currentTimeMillis();
+			try {
+				getDelegate().sendMessage(next.message());
+			} catch (Exception e) {
+				log.warn("Failed to send to WebSocket session {}, closing it", getId(), e);
+				closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+			} finally {
+				sendStartedAt = 0;
+			}
+		}
+	}
+
+	// Same rule as ConcurrentWebSocketSessionDecorator: only a write stuck for too long is fatal
+	private void checkSendTime() {
+		long started = sendStartedAt;
+		if (started > 0 && System.currentTimeMillis() - started > sendTimeLimitMs) {
+			log.warn("Send to WebSocket session {} exceeded {} ms, closing it", getId(), sendTimeLimitMs);
+			closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+		}
+	}
+
+	private void dropQueuedStats(String destination) {
+		Iterator<Pending> it = queue.iterator();
+		while (it.hasNext()) {
+			Pending pending = it.next();
+			if (destination.equals(pending.statsDestination())) {
+				it.remove();
+				queuedBytes -= pending.message().getPayloadLength();
+				staleDropped.increment();
+			}
+		}
+	}
+
+	// Oldest first, so the newest stats frame for a topic is the last to go
+	private void dropStatsUntilWithinLimit() {
+		Iterator<Pending> it = queue.iterator();
+		while (queuedBytes > bufferSizeLimit && it.hasNext()) {
+			Pending pending = it.next();
+			if (pending.statsDestination() != null) {
+				it.remove();
+				queuedBytes -= pending.message().getPayloadLength();
+				staleDropped.increment();
+			}
+		}
+	}
+
+	private void closeQuietly(CloseStatus status) {
+		try {
+			close(status);
+		} catch (Exception e) {
+			log.debug("Failed to close WebSocket session {}", getId(), e);
+		}
+	}
+
+	// Destination header of an encoded STOMP MESSAGE frame, if it is a stats topic
+	private static String statsDestination(WebSocketMessage<?> message) {
+		if (!(message instanceof TextMessage text)) {
+			return null;
+		}
+		String payload = text.getPayload();
+		int headersEnd = payload.indexOf("\n\n");
+		int start = payload.indexOf(DESTINATION_HEADER);
+		if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+			return null;
+		}
+		start += DESTINATION_HEADER.length();
+		int end = payload.indexOf('\n', start);
+		String destination = payload.substring(start, end < 0 ? payload.length() : end).strip();
+		return destination.endsWith(STATS_SUFFIX) ? destination : null;
+	}
+
+	private record Pending(WebSocketMessage<?> message, String statsDestination) {}
+}
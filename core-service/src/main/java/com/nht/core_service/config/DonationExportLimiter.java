@@ -0,0 +1,82 @@
+package com.nht.core_service.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admission control for the donation export. Each stream holds a database connection
+ * until it finishes, so concurrent streams are capped well below the pool size. A
+ * request over the cap is rejected with 429 straight away instead of parking a request
+ * thread until a slot frees. The long export timeout is applied to admitted requests
+ * only; every other async MVC request keeps the defaults.
+ * <p>
+ * Metrics: {@code donation.export.active} and {@code donation.export.rejected}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DonationExportLimiter {
+
+	private static final String INTERCEPTOR_KEY = DonationExportLimiter.class.getName();
+
+	private final MeterRegistry meterRegistry;
+
+	@Value("${donation.export.max-concurrent:4}")
+	private int maxConcurrent;
+
+	@Value("${donation.export.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	private Semaphore slots;
+	private Counter rejected;
+
+	@PostConstruct
+	void init() {
+		slots = new Semaphore(maxConcurrent);
+		rejected = Counter.builder("donation.export.rejected").register(meterRegistry);
+		Gauge.builder("donation.export.active", slots, s -> maxConcurrent - s.availablePermits())
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Takes a slot for this request or throws {@link ErrorCode#DONATION_EXPORT_BUSY}. The slot
+	 * is released when async processing of the request completes, times out or fails.
+	 */
+	public void admit(HttpServletRequest request) {
+		if (!slots.tryAcquire()) {
+			rejected.increment();
+			throw new AppException(ErrorCode.DONATION_EXPORT_BUSY);
+		}
+		WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(INTERCEPTOR_KEY,
+				new CallableProcessingInterceptor() {
+					@Override
+					public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+						if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+							asyncWebRequest.setTimeout(timeoutMs);
+						}
+					}
+
+					@Override
+					public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+						slots.release();
+					}
+				});
+	}
+}
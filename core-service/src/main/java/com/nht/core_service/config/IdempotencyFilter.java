@@ -0,0 +1,264 @@
+package com.nht.core_service.config;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nht.core_service.cache.IdempotencyStore;
+import com.nht.core_service.dto.response.ApiResponse;
+import com.nht.core_service.exception.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Honours the {@code Idempotency-Key} header on the configured mutating routes.
+ * <p>
+ * The key is scoped to route and caller and bound to a SHA-256 of the request body. The first
+ * request runs normally and its 2xx response is stored in {@link IdempotencyStore}; a retry with
+ * the same key and body gets that response back without reaching the controller, so no duplicate
+ * records, Feign calls or Kafka events. Non-2xx responses are not stored, so the client may retry.
+ * Runs after the security filter chain; if Redis is unavailable the request proceeds unprotected.
+ * The body is buffered before the controller sees it, so bodies over {@code max-body-bytes} are
+ * refused with 413 rather than read into memory.
+ * <p>
+ * Metric: {@code idempotency.requests{route, result=executed|replayed|in_progress|mismatch|bypassed|too_large}}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final IdempotencyStore idempotencyStore;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${idempotency.routes:POST /donations/init,POST /withdrawals,POST /campaigns}")
+	private List<String> routes;
+
+	@Value("${idempotency.max-body-bytes:1048576}")
+	private int maxBodyBytes;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return request.getHeader(HEADER) == null || !routes.contains(route(request));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String route = route(request);
+		String clientKey = request.getHeader(HEADER).strip();
+		if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+			writeError(response, ErrorCode.INVALID_IDEMPOTENCY_KEY);
+			return;
+		}
+
+		// Declared length first, then counted while reading for chunked bodies
+		byte[] body = request.getContentLengthLong() > maxBodyBytes
+				? null
+				: request.getInputStream().readNBytes(maxBodyBytes + 1);
+		if (body == null || body.length > maxBodyBytes) {
+			record(route, "too_large");
+			writeError(response, ErrorCode.IDEMPOTENT_REQUEST_TOO_LARGE);
+			return;
+		}
+
+		BufferedBodyRequest bufferedRequest = new BufferedBodyRequest(request, body);
+		String fingerprint = sha256(body);
+		String key = route.replace(' ', ':') + ":" + caller() + ":" + clientKey;
+
+		IdempotencyStore.Entry existing;
+		try {
+			existing = idempotencyStore.claim(key, fingerprint);
+		} catch (Exception e) {
+			log.warn("Idempotency store unavailable, processing {} without replay protection", route, e);
+			record(route, "bypassed");
+			chain.doFilter(bufferedRequest, response);
+			return;
+		}
+
+		if (existing != null) {
+			if (!existing.fingerprint().equals(fingerprint)) {
+				record(route, "mismatch");
+				writeError(response, ErrorCode.IDEMPOTENCY_KEY_REUSED);
+			} else if (existing.inProgress()) {
+				record(route, "in_progress");
+				writeError(response, ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+			} else {
+				record(route, "replayed");
+				replay(response, existing);
+			}
+			return;
+		}
+
+		record(route, "executed");
+		ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+		try {
+			chain.doFilter(bufferedRequest, cachingResponse);
+		} catch (IOException | ServletException | RuntimeException e) {
+			releaseQuietly(key);
+			throw e;
+		}
+
+		int status = cachingResponse.getStatus();
+		if (status >= 200 && status < 300) {
+			try {
+				idempotencyStore.complete(key, new IdempotencyStore.Entry(
+						fingerprint,
+						status,
+						cachingResponse.getContentType(),
+						new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)));
+			} catch (Exception e) {
+				log.error("Failed to store idempotent response for {}", route, e);
+				releaseQuietly(key);
+			}
+		} else {
+			releaseQuietly(key);
+		}
+		cachingResponse.copyBodyToResponse();
+	}
+
+	private void replay(HttpServletResponse response, IdempotencyStore.Entry entry) throws IOException {
+		response.setStatus(entry.status());
+		if (entry.contentType() != null) {
+			response.setContentType(entry.contentType());
+		}
+		response.setHeader(REPLAYED_HEADER, "true");
+		if (entry.body() != null) {
+			response.getOutputStream().write(entry.body().getBytes(StandardCharsets.UTF_8));
+		}
+		response.flushBuffer();
+	}
+
+	private void writeError(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+		response.setStatus(errorCode.getStatusCode().value());
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		ApiResponse<?> apiResponse = new ApiResponse<>(errorCode.getCode(), errorCode.getMessage(), null);
+		response.getWriter().write(objectMapper.writeValueAsString(apiResponse));
+		response.flushBuffer();
+	}
+
+	private void releaseQuietly(String key) {
+		try {
+			idempotencyStore.release(key);
+		} catch (Exception e) {
+			log.warn("Failed to release idempotency key {}, it expires with the lock TTL", key, e);
+		}
+	}
+
+	private void record(String route, String result) {
+		meterRegistry.counter("idempotency.requests", "route", route, "result", result).increment();
+	}
+
+	private static String route(HttpServletRequest request) {
+		return request.getMethod() + " " + request.getRequestURI().substring(request.getContextPath().length());
+	}
+
+	private static String caller() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null
+				|| !authentication.isAuthenticated()
+				|| authentication instanceof AnonymousAuthenticationToken) {
+			return "anonymous";
+		}
+		return authentication.getName();
+	}
+
+	private static String sha256(byte[] body) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Serves the body read up front, so it can be fingerprinted and still be read by the controller.
+	 */
+	private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream in = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					return in.read();
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					return in.read(b, off, len);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return in.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				// The body is already in memory: it is all available, and all read once the listener has consumed it
+				@Override
+				public void setReadListener(ReadListener listener) {
+					try {
+						if (!isFinished()) {
+							listener.onDataAvailable();
+						}
+						listener.onAllDataRead();
+					} catch (IOException e) {
+						listener.onError(e);
+					}
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			String encoding = getCharacterEncoding();
+			return new BufferedReader(new InputStreamReader(
+					getInputStream(), encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -12,7 +13,11 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.ExponentialBackOff;
 
 @Configuration
 @EnableKafka
@@ -21,6 +26,16 @@ public class KafkaConsumerConfig {
 	@Value("${spring.kafka.bootstrap-servers:kafka:29092}")
 	private String bootstrapServers;
 
+	// Listener threads per container; our topics have 3 partitions
+	@Value("${kafka.consumer.concurrency:3}")
+	private int concurrency;
+
+	@Value("${ai.result.listener.max-poll-records:200}")
+	private int aiResultMaxPollRecords;
+
+	@Value("${kafka.consumer.key-ordered.max-poll-records:500}")
+	private int keyOrderedMaxPollRecords;
+
 	@Bean
 	public ConsumerFactory<String, Object> consumerFactory() {
 		Map<String, Object> props = new HashMap<>();
@@ -40,6 +55,47 @@ public class KafkaConsumerConfig {
 		ConcurrentKafkaListenerContainerFactory<String, Object> factory =
 				new ConcurrentKafkaListenerContainerFactory<>();
 		factory.setConsumerFactory(consumerFactory());
+		factory.setConcurrency(concurrency);
+		return factory;
+	}
+
+	/**
+	 * Batch mode for AI results: a whole poll is delivered as one List. @RetryableTopic
+	 * does not support batch listeners, so a failing batch is retried in place
+	 * (1s, 2s) and then sent record by record to the same "-dlt" topic. A listener that
+	 * throws BatchListenerFailedException has only that record retried and dead-lettered.
+	 */
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<String, Object> aiResultBatchListenerContainerFactory(
+			KafkaTemplate<String, Object> kafkaTemplate) {
+		return batchListenerContainerFactory(aiResultMaxPollRecords, kafkaTemplate);
+	}
+
+	/**
+	 * Poll-at-a-time delivery for listeners that fan records out with KeyOrderedDispatcher.
+	 */
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<String, Object> keyOrderedListenerContainerFactory(
+			KafkaTemplate<String, Object> kafkaTemplate) {
+		return batchListenerContainerFactory(keyOrderedMaxPollRecords, kafkaTemplate);
+	}
+
+	private ConcurrentKafkaListenerContainerFactory<String, Object> batchListenerContainerFactory(
+			int maxPollRecords, KafkaTemplate<String, Object> kafkaTemplate) {
+		Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+		props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+
+		ExponentialBackOff backOff = new ExponentialBackOff(1000, 2.0);
+		backOff.setMaxAttempts(2);
+		DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+				(record, ex) -> new TopicPartition(record.topic() + "-dlt", -1));
+
+		ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+				new ConcurrentKafkaListenerContainerFactory<>();
+		factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+		factory.setConcurrency(concurrency);
+		factory.setBatchListener(true);
+		factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, backOff));
 		return factory;
 	}
 }
@@ -1,36 +1,95 @@
 package com.nht.core_service.config;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import lombok.extern.slf4j.Slf4j;
+
 @Configuration
+@Slf4j
 public class KafkaProducerConfig {
 
+	private static final String DEFAULT_PROFILE = "default";
+
 	@Value("${spring.kafka.bootstrap-servers:kafka:29092}")
 	private String bootstrapServers;
 
 	@Bean
-	public ProducerFactory<String, Object> producerFactory() {
+	@ConfigurationProperties(prefix = "kafka.producer")
+	public KafkaProducerProperties kafkaProducerProperties() {
+		return new KafkaProducerProperties();
+	}
+
+	@Bean
+	public ProducerFactory<String, Object> producerFactory(
+			KafkaProducerProperties properties, MeterRegistry meterRegistry) {
+		return createFactory(properties, new KafkaProducerProperties.TopicOverride(), DEFAULT_PROFILE, meterRegistry);
+	}
+
+	@Bean
+	public KafkaTemplate<String, Object> kafkaTemplate(
+			ProducerFactory<String, Object> producerFactory,
+			KafkaProducerProperties properties,
+			MeterRegistry meterRegistry) {
+		Map<String, KafkaTemplate<String, Object>> topicTemplates = new HashMap<>();
+		properties.getTopics().forEach((topic, override) -> topicTemplates.put(
+				topic, new KafkaTemplate<>(createFactory(properties, override, topic, meterRegistry))));
+		return new TopicRoutingKafkaTemplate(producerFactory, topicTemplates);
+	}
+
+	/**
+	 * Builds a producer from the profile with the override applied on top. Client metrics
+	 * (batch-size-avg, record-queue-time-avg, request-latency-avg, ...) are bound to
+	 * Micrometer as {@code kafka.producer.*}, tagged with the profile name.
+	 */
+	private ProducerFactory<String, Object> createFactory(KafkaProducerProperties properties,
+			KafkaProducerProperties.TopicOverride override, String profile, MeterRegistry meterRegistry) {
+		String acks = override.getAcks() != null ? override.getAcks() : properties.getAcks();
+		boolean idempotence = override.getEnableIdempotence() != null
+				? override.getEnableIdempotence()
+				: properties.isEnableIdempotence();
+		if (idempotence && !"all".equals(acks) && !"-1".equals(acks)) {
+			// The client refuses idempotence without acks=all
+			log.warn("Kafka producer profile {} uses acks={}, disabling idempotence", profile, acks);
+			idempotence = false;
+		}
+
 		Map<String, Object> configProps = new HashMap<>();
 		configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
 		configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
 		configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 		configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
-		return new DefaultKafkaProducerFactory<>(configProps);
-	}
+		configProps.put(ProducerConfig.LINGER_MS_CONFIG,
+				override.getLingerMs() != null ? override.getLingerMs() : properties.getLingerMs());
+		configProps.put(ProducerConfig.BATCH_SIZE_CONFIG,
+				override.getBatchSize() != null ? override.getBatchSize() : properties.getBatchSize());
+		configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG,
+				override.getCompressionType() != null ? override.getCompressionType() : properties.getCompressionType());
+		configProps.put(ProducerConfig.ACKS_CONFIG, acks);
+		configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+		configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION,
+				properties.getMaxInFlightRequestsPerConnection());
+		configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, properties.getDeliveryTimeoutMs());
+		configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, properties.getBufferMemory());
+		configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "core-service-" + profile);
 
-	@Bean
-	public KafkaTemplate<String, Object> kafkaTemplate() {
-		return new KafkaTemplate<>(producerFactory());
+		DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(configProps);
+		factory.addListener(new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of("profile", profile))));
+		return factory;
 	}
 }
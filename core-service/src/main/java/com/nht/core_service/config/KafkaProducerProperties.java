@@ -0,0 +1,35 @@
+package com.nht.core_service.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * Producer profile bound from {@code kafka.producer.*}.
+ * Entries under {@code topics} override the profile for one topic; such topics get
+ * their own producer since batching and compression are per-producer settings.
+ */
+@Data
+public class KafkaProducerProperties {
+
+	private int lingerMs = 10;
+	private int batchSize = 65536;
+	private String compressionType = "lz4";
+	private String acks = "all";
+	private boolean enableIdempotence = true;
+	private int maxInFlightRequestsPerConnection = 5;
+	private int deliveryTimeoutMs = 120000;
+	private long bufferMemory = 33554432L;
+
+	private Map<String, TopicOverride> topics = new HashMap<>();
+
+	@Data
+	public static class TopicOverride {
+		private Integer lingerMs;
+		private Integer batchSize;
+		private String compressionType;
+		private String acks;
+		private Boolean enableIdempotence;
+	}
+}
@@ -0,0 +1,78 @@
+package com.nht.core_service.config;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.nht.core_service.document.Proof;
+import com.nht.core_service.document.ProofVote;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the voter IDs that proofs used to embed (upvoterIds/reporterIds) into
+ * proof_votes and drops the arrays, so proof documents stop growing with votes.
+ */
+@Configuration
+@Slf4j
+public class ProofVoteMigrationConfig {
+
+	private static final int BATCH_SIZE = 100;
+
+	@Bean
+	ApplicationRunner migrateEmbeddedProofVotes(MongoTemplate mongoTemplate) {
+		return args -> {
+			Query query = new Query(new Criteria().orOperator(
+					Criteria.where("upvoterIds").exists(true), Criteria.where("reporterIds").exists(true)));
+			query.fields().include("upvoterIds").include("reporterIds");
+			query.cursorBatchSize(BATCH_SIZE);
+
+			int migrated = 0;
+			String collection = mongoTemplate.getCollectionName(Proof.class);
+			try (Stream<Document> proofs = mongoTemplate.stream(query, Document.class, collection)) {
+				for (Document proof : (Iterable<Document>) proofs::iterator) {
+					String proofId = proof.get("_id").toString();
+					BulkOperations votes = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ProofVote.class);
+					int pending = addVotes(votes, proofId, proof.getList("upvoterIds", String.class), ProofVote.TYPE_UPVOTE)
+							+ addVotes(votes, proofId, proof.getList("reporterIds", String.class), ProofVote.TYPE_REPORT);
+					if (pending > 0) {
+						votes.execute();
+					}
+					// Arrays go only after their votes are stored
+					mongoTemplate.updateFirst(
+							new Query(Criteria.where("id").is(proofId)),
+							new Update().unset("upvoterIds").unset("reporterIds"),
+							Proof.class);
+					migrated++;
+				}
+			}
+
+			if (migrated > 0) {
+				log.warn("Moved embedded voter IDs of {} proofs into proof_votes", migrated);
+			}
+		};
+	}
+
+	private int addVotes(BulkOperations votes, String proofId, List<String> userIds, String type) {
+		if (userIds == null) {
+			return 0;
+		}
+		for (String userId : userIds) {
+			// Upsert keeps a re-run after a partial migration idempotent
+			votes.upsert(
+					new Query(Criteria.where("proofId").is(proofId).and("userId").is(userId).and("type").is(type)),
+					new Update().setOnInsert("createdAt", Instant.now()));
+		}
+		return userIds.size();
+	}
+}
@@ -4,9 +4,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericToStringSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.nht.core_service.cache.CampaignDetailCache;
+import com.nht.core_service.cache.PendingPaymentCodeFilter;
+
 @Configuration
 public class RedisConfig {
 
@@ -20,4 +25,18 @@ public class RedisConfig {
 		template.setHashValueSerializer(new GenericToStringSerializer<>(Long.class));
 		return template;
 	}
+
+	@Bean
+	public RedisMessageListenerContainer redisMessageListenerContainer(
+			RedisConnectionFactory connectionFactory, CampaignDetailCache campaignDetailCache,
+			PendingPaymentCodeFilter pendingPaymentCodeFilter) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		// Near-cache invalidation broadcast between core-service nodes
+		container.addMessageListener(campaignDetailCache, new ChannelTopic(CampaignDetailCache.INVALIDATION_CHANNEL));
+		// Payment codes issued on other nodes, for their pending-code Bloom filters
+		container.addMessageListener(pendingPaymentCodeFilter,
+				new ChannelTopic(PendingPaymentCodeFilter.CODE_ADDED_CHANNEL));
+		return container;
+	}
 }
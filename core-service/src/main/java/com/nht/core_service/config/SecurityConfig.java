@@ -32,6 +32,7 @@ public class SecurityConfig {
             // Public campaign browsing (read-only)
             "/campaigns",
             "/campaigns/*",
+            "/campaigns/*/comments",
 
             // Swagger/OpenAPI documentation
             "/v3/api-docs/**",
@@ -74,6 +75,7 @@ public class SecurityConfig {
         corsConfiguration.addAllowedOrigin("*"); // TODO: Restrict to specific domains in production
         corsConfiguration.addAllowedMethod("*");
         corsConfiguration.addAllowedHeader("*");
+        corsConfiguration.addExposedHeader(IdempotencyFilter.REPLAYED_HEADER);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", corsConfiguration);
@@ -0,0 +1,62 @@
+package com.nht.core_service.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Client outbound interceptor that skips a stats message if a newer one for the same
+ * session and destination was queued behind it. A slow client therefore only ever
+ * receives the latest stats instead of working through a backlog of stale ones.
+ * This only covers messages still waiting for an outbound thread; frames already handed
+ * to the session are conflated by {@link ConflatingSessionDecorator}.
+ * <p>
+ * Metric: {@code websocket.stats.dropped}.
+ */
+public class StaleStatsChannelInterceptor implements ExecutorChannelInterceptor {
+
+	private static final String STATS_SUFFIX = "/stats";
+
+	// "sessionId|destination" -> most recently queued stats message
+	private final Map<String, Message<?>> latest = new ConcurrentHashMap<>();
+	private final Counter dropped;
+
+	public StaleStatsChannelInterceptor(MeterRegistry meterRegistry) {
+		this.dropped = meterRegistry.counter("websocket.stats.dropped");
+	}
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		String key = statsKey(message);
+		if (key != null) {
+			latest.put(key, message);
+		}
+		return message;
+	}
+
+	@Override
+	public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+		String key = statsKey(message);
+		if (key == null || latest.remove(key, message)) {
+			return message;
+		}
+		dropped.increment();
+		return null;
+	}
+
+	private String statsKey(Message<?> message) {
+		String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+		if (destination == null || !destination.endsWith(STATS_SUFFIX)) {
+			return null;
+		}
+		return SimpMessageHeaderAccessor.getSessionId(message.getHeaders()) + "|" + destination;
+	}
+}
@@ -0,0 +1,56 @@
+package com.nht.core_service.config;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+/**
+ * {@link KafkaTemplate} that hands topics with their own producer profile to a dedicated
+ * template and sends everything else through the default producer.
+ */
+public class TopicRoutingKafkaTemplate extends KafkaTemplate<String, Object> {
+
+	private final Map<String, KafkaTemplate<String, Object>> topicTemplates;
+
+	public TopicRoutingKafkaTemplate(ProducerFactory<String, Object> defaultFactory,
+			Map<String, KafkaTemplate<String, Object>> topicTemplates) {
+		super(defaultFactory);
+		this.topicTemplates = Map.copyOf(topicTemplates);
+	}
+
+	@Override
+	public CompletableFuture<SendResult<String, Object>> send(String topic, Object data) {
+		KafkaTemplate<String, Object> template = topicTemplates.get(topic);
+		return template != null ? template.send(topic, data) : super.send(topic, data);
+	}
+
+	@Override
+	public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+		KafkaTemplate<String, Object> template = topicTemplates.get(topic);
+		return template != null ? template.send(topic, key, data) : super.send(topic, key, data);
+	}
+
+	@Override
+	public void flush() {
+		super.flush();
+		topicTemplates.values().forEach(KafkaTemplate::flush);
+	}
+
+	@Override
+	public void destroy() {
+		super.destroy();
+		for (KafkaTemplate<String, Object> template : topicTemplates.values()) {
+			if (template.getProducerFactory() instanceof DisposableBean factory) {
+				try {
+					factory.destroy();
+				} catch (Exception e) {
+					// Shutting down; nothing left to do with a producer that fails to close
+				}
+			}
+		}
+	}
+}
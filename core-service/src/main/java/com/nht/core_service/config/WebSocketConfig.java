@@ -1,15 +1,42 @@
 package com.nht.core_service.config;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+	private final MeterRegistry meterRegistry;
+
+	// Writes each session's queued frames; a slow socket only parks its own virtual thread
+	private final Executor sessionWriter = Executors.newVirtualThreadPerTaskExecutor();
+
+	// Per-session cap on queued outbound bytes; over it stats frames are dropped, then the session closed
+	@Value("${websocket.transport.send-buffer-size-limit:262144}")
+	private int sendBufferSizeLimit;
+
+	@Value("${websocket.transport.send-time-limit-ms:10000}")
+	private int sendTimeLimitMs;
+
 	@Override
 	public void configureMessageBroker(MessageBrokerRegistry config) {
 		// Enable simple broker for sending messages to clients
@@ -25,4 +52,38 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 		// TODO: Replace "*" with specific allowed origins for production deployment
 		registry.addEndpoint("/ws").setAllowedOriginPatterns("*").withSockJS();
 	}
+
+	@Override
+	public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+		registration.setSendBufferSizeLimit(sendBufferSizeLimit);
+		registration.setSendTimeLimit(sendTimeLimitMs);
+		// Each session's frames are queued and conflated by ConflatingSessionDecorator, which
+		// drops stale stats first and only disconnects a session still over the limit without them
+		registration.addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+			private final Map<String, ConflatingSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+			@Override
+			public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+				ConflatingSessionDecorator decorated = new ConflatingSessionDecorator(
+						session, sessionWriter, sendBufferSizeLimit, sendTimeLimitMs, meterRegistry);
+				sessions.put(session.getId(), decorated);
+				super.afterConnectionEstablished(decorated);
+			}
+
+			@Override
+			public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+				ConflatingSessionDecorator decorated = sessions.remove(session.getId());
+				if (decorated != null) {
+					decorated.markClosed();
+				}
+				super.afterConnectionClosed(session, closeStatus);
+			}
+		});
+	}
+
+	@Override
+	public void configureClientOutboundChannel(ChannelRegistration registration) {
+		// Slow clients skip stats that a newer message already superseded
+		registration.interceptors(new StaleStatsChannelInterceptor(meterRegistry));
+	}
 }
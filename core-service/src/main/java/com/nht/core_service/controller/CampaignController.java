@@ -1,7 +1,11 @@
 package com.nht.core_service.controller;
 
 import com.nht.core_service.dto.response.CampaignPageResponse;
+import com.nht.core_service.dto.response.CampaignReconciliationReport;
+import com.nht.core_service.dto.response.CursorPageResponse;
 import com.nht.core_service.dto.response.PageResponse;
+import com.nht.core_service.enums.CampaignStatus;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.springframework.http.ResponseEntity;
@@ -12,16 +16,21 @@ import com.nht.core_service.document.Campaign;
 import com.nht.core_service.dto.request.CreateCampaignRequest;
 import com.nht.core_service.dto.response.ApiResponse;
 import com.nht.core_service.dto.response.CampaignResponse;
+import com.nht.core_service.service.CampaignReconciliationService;
 import com.nht.core_service.service.CampaignService;
+import com.nht.core_service.utils.JwtUtils;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/campaigns")
 @RequiredArgsConstructor
 public class CampaignController {
 
 	private final CampaignService campaignService;
+	private final CampaignReconciliationService campaignReconciliationService;
 
 	@PreAuthorize("isAuthenticated()")
 	@PostMapping
@@ -37,6 +46,20 @@ public class CampaignController {
 		return ResponseEntity.ok(response);
 	}
 
+	/**
+	 * Cursor mode: selected whenever the {@code cursor} parameter is present.
+	 * Send an empty {@code cursor} for the first page, then the returned {@code nextCursor}.
+	 */
+	@GetMapping(params = "cursor")
+	public ResponseEntity<CursorPageResponse<CampaignPageResponse>> getCampaignsByCursor(
+			@RequestParam(value = "cursor") String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = "10") int size,
+			@RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal) {
+		CursorPageResponse<CampaignPageResponse> response =
+				campaignService.getCampaignsByCursor(cursor, size, includeTotal);
+		return ResponseEntity.ok(response);
+	}
+
 	@PreAuthorize("isAuthenticated()")
 	@GetMapping("/me")
 	public ResponseEntity<PageResponse<CampaignPageResponse>> getMyCampaigns(
@@ -46,9 +69,32 @@ public class CampaignController {
 		return ResponseEntity.ok(response);
 	}
 
+	@PreAuthorize("isAuthenticated()")
+	@GetMapping(value = "/me", params = "cursor")
+	public ResponseEntity<CursorPageResponse<CampaignPageResponse>> getMyCampaignsByCursor(
+			@RequestParam(value = "cursor") String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = "10") int size,
+			@RequestParam(value = "includeTotal", required = false, defaultValue = "false") boolean includeTotal) {
+		CursorPageResponse<CampaignPageResponse> response =
+				campaignService.getMyCampaignsByCursor(cursor, size, includeTotal);
+		return ResponseEntity.ok(response);
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<ApiResponse<List<CampaignPageResponse>>> searchCampaigns(
+			@RequestParam(value = "q") String q,
+			@RequestParam(value = "status", required = false) CampaignStatus status,
+			@RequestParam(value = "ownerId", required = false) String ownerId,
+			@RequestParam(value = "page", required = false, defaultValue = "1") int page,
+			@RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+		List<CampaignPageResponse> response = campaignService.searchCampaigns(q, status, ownerId, page, size);
+		return ResponseEntity.ok(new ApiResponse<>("Campaigns searched successfully", response));
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<ApiResponse<CampaignResponse>> getCampaign(@PathVariable String id) {
-		CampaignResponse response = campaignService.getCampaignById(id);
+	public ResponseEntity<ApiResponse<CampaignResponse>> getCampaign(@PathVariable String id,
+			HttpServletRequest httpRequest) {
+		CampaignResponse response = campaignService.getCampaignById(id, resolveViewerId(httpRequest));
 		return ResponseEntity.ok(new ApiResponse<>("Campaign retrieved successfully", response));
 	}
 	@PreAuthorize("hasRole('ADMIN')")
@@ -57,4 +103,27 @@ public class CampaignController {
 		campaignService.closeCampaign(id);
 		return ResponseEntity.ok(new ApiResponse<>("Campaign closed successfully", null));
 	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/reconcile")
+	public ResponseEntity<ApiResponse<CampaignReconciliationReport>> reconcileCampaigns(
+			@RequestParam(value = "dryRun", required = false, defaultValue = "true") boolean dryRun) {
+		CampaignReconciliationReport response = campaignReconciliationService.reconcile(dryRun);
+		return ResponseEntity.ok(new ApiResponse<>("Campaigns reconciled successfully", response));
+	}
+
+	/**
+	 * Signed-in viewers are counted by user ID, anonymous ones by client address. Browser
+	 * traffic arrives through the Next.js proxy and the api-gateway, which both forward the
+	 * browser's address in X-Forwarded-For; Tomcat's RemoteIpValve applies it only when every
+	 * hop it skips is an internal proxy (server.forward-headers-strategy), so a client cannot
+	 * pick its own viewer ID. Visitors sharing a public IP still count as one.
+	 */
+	private String resolveViewerId(HttpServletRequest httpRequest) {
+		String userId = JwtUtils.findUserIdFromToken();
+		if (userId != null) {
+			return "u:" + userId;
+		}
+		return "ip:" + httpRequest.getRemoteAddr();
+	}
 }
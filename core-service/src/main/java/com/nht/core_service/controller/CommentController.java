@@ -0,0 +1,41 @@
+package com.nht.core_service.controller;
+
+import jakarta.validation.Valid;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.nht.core_service.dto.request.CreateCommentRequest;
+import com.nht.core_service.dto.response.ApiResponse;
+import com.nht.core_service.dto.response.CommentResponse;
+import com.nht.core_service.dto.response.CursorPageResponse;
+import com.nht.core_service.service.CommentService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/campaigns/{campaignId}/comments")
+@RequiredArgsConstructor
+public class CommentController {
+
+	private final CommentService commentService;
+
+	@PreAuthorize("isAuthenticated()")
+	@PostMapping
+	public ResponseEntity<ApiResponse<CommentResponse>> createComment(
+			@PathVariable String campaignId,
+			@Valid @RequestBody CreateCommentRequest request) {
+		CommentResponse response = commentService.createComment(campaignId, request);
+		return ResponseEntity.ok(new ApiResponse<>("Comment created successfully", response));
+	}
+
+	@GetMapping
+	public ResponseEntity<ApiResponse<CursorPageResponse<CommentResponse>>> getComments(
+			@PathVariable String campaignId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+		CursorPageResponse<CommentResponse> response = commentService.getComments(campaignId, cursor, size);
+		return ResponseEntity.ok(new ApiResponse<>("Comments retrieved successfully", response));
+	}
+}
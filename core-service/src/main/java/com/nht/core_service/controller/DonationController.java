@@ -1,17 +1,32 @@
 package com.nht.core_service.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.nht.core_service.config.DonationExportLimiter;
 import com.nht.core_service.dto.request.DonationCompleteRequest;
 import com.nht.core_service.dto.request.InitDonationRequest;
 import com.nht.core_service.dto.response.ApiResponse;
+import com.nht.core_service.dto.response.LeaderboardEntryResponse;
 import com.nht.core_service.dto.response.LiveDonationResponse;
+import com.nht.core_service.dto.response.PageResponse;
+import com.nht.core_service.enums.ExportFormat;
+import com.nht.core_service.enums.PaymentStatus;
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+import com.nht.core_service.service.DonationExportService;
 import com.nht.core_service.service.DonationService;
+import com.nht.core_service.service.LeaderboardService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -21,6 +36,9 @@ import lombok.RequiredArgsConstructor;
 public class DonationController {
 
 	private final DonationService donationService;
+	private final LeaderboardService leaderboardService;
+	private final DonationExportService donationExportService;
+	private final DonationExportLimiter donationExportLimiter;
 
 	@PostMapping("/init")
 	public ResponseEntity<ApiResponse<String>> initializeDonation(
@@ -41,4 +59,61 @@ public class DonationController {
 		List<LiveDonationResponse> donations = donationService.getRecentCompletedDonations();
 		return ResponseEntity.ok(new ApiResponse<>("Success", donations));
 	}
+
+	/**
+	 * Streams on an MVC async thread, so the request thread is released as soon as headers are set.
+	 * Over the concurrent-export cap the request is rejected with 429 rather than queued.
+	 */
+	@PreAuthorize("hasRole('ADMIN')")
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> exportDonations(
+			@RequestParam("campaignId") String campaignId,
+			@RequestParam(value = "status", required = false) PaymentStatus status,
+			@RequestParam(value = "format", required = false, defaultValue = "csv") String format,
+			HttpServletRequest request) {
+		ExportFormat exportFormat;
+		try {
+			exportFormat = ExportFormat.valueOf(format.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new AppException(ErrorCode.INVALID_EXPORT_FORMAT);
+		}
+		donationExportService.validateExport(campaignId);
+		donationExportLimiter.admit(request);
+
+		StreamingResponseBody body = out -> donationExportService.exportDonations(campaignId, status, exportFormat, out);
+		String extension = exportFormat == ExportFormat.CSV ? "csv" : "ndjson";
+		MediaType contentType = exportFormat == ExportFormat.CSV
+				? new MediaType("text", "csv", StandardCharsets.UTF_8)
+				: new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+		return ResponseEntity.ok()
+				.contentType(contentType)
+				.header(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"donations-" + campaignId + "." + extension + "\"")
+				.body(body);
+	}
+
+	@GetMapping("/leaderboard")
+	public ResponseEntity<ApiResponse<PageResponse<LeaderboardEntryResponse>>> getPlatformLeaderboard(
+			@RequestParam(value = "page", required = false, defaultValue = "1") int page,
+			@RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+		PageResponse<LeaderboardEntryResponse> response = leaderboardService.getPlatformLeaderboard(page, size);
+		return ResponseEntity.ok(new ApiResponse<>("Leaderboard retrieved successfully", response));
+	}
+
+	@GetMapping("/leaderboard/campaigns/{campaignId}")
+	public ResponseEntity<ApiResponse<PageResponse<LeaderboardEntryResponse>>> getCampaignLeaderboard(
+			@PathVariable String campaignId,
+			@RequestParam(value = "page", required = false, defaultValue = "1") int page,
+			@RequestParam(value = "size", required = false, defaultValue = "10") int size) {
+		PageResponse<LeaderboardEntryResponse> response =
+				leaderboardService.getCampaignLeaderboard(campaignId, page, size);
+		return ResponseEntity.ok(new ApiResponse<>("Leaderboard retrieved successfully", response));
+	}
+
+	@PreAuthorize("hasRole('ADMIN')")
+	@PostMapping("/leaderboard/rebuild")
+	public ResponseEntity<ApiResponse<Long>> rebuildLeaderboards() {
+		long donations = leaderboardService.rebuild();
+		return ResponseEntity.ok(new ApiResponse<>("Leaderboards rebuilt successfully", donations));
+	}
 }
@@ -0,0 +1,33 @@
+package com.nht.core_service.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.nht.core_service.dto.response.ApiResponse;
+import com.nht.core_service.dto.response.LikeResponse;
+import com.nht.core_service.service.InteractionService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/campaigns")
+@RequiredArgsConstructor
+public class InteractionController {
+
+	private final InteractionService interactionService;
+
+	@PreAuthorize("isAuthenticated()")
+	@PostMapping("/{id}/like")
+	public ResponseEntity<ApiResponse<LikeResponse>> likeCampaign(@PathVariable String id) {
+		LikeResponse response = interactionService.likeCampaign(id);
+		return ResponseEntity.ok(new ApiResponse<>("Campaign liked successfully", response));
+	}
+
+	@PreAuthorize("isAuthenticated()")
+	@DeleteMapping("/{id}/like")
+	public ResponseEntity<ApiResponse<LikeResponse>> unlikeCampaign(@PathVariable String id) {
+		LikeResponse response = interactionService.unlikeCampaign(id);
+		return ResponseEntity.ok(new ApiResponse<>("Campaign unliked successfully", response));
+	}
+}
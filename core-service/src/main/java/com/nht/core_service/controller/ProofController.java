@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.nht.core_service.dto.request.HybridReasoningCallbackRequest;
 import com.nht.core_service.dto.response.ApiResponse;
+import com.nht.core_service.dto.response.HybridCallbackItemResponse;
 import com.nht.core_service.dto.response.ProofResponse;
 import com.nht.core_service.enums.AiStatus;
 import com.nht.core_service.service.ProofService;
@@ -99,6 +100,18 @@ public class ProofController {
 		}
 	}
 
+	/**
+	 * Batch variant of {@link #handleHybridReasoningCallback}: every result in one lookup and
+	 * one bulk write. Always answers with one result per item, in request order.
+	 */
+	@PostMapping("/internal/hybrid-callback/batch")
+	public ResponseEntity<ApiResponse<List<HybridCallbackItemResponse>>> handleHybridReasoningCallbackBatch(
+			@RequestBody List<@Valid HybridReasoningCallbackRequest> requests) {
+		log.info("Received hybrid reasoning callback batch of {} results", requests.size());
+		List<HybridCallbackItemResponse> results = proofService.updateProofsFromHybridResults(requests);
+		return ResponseEntity.ok(new ApiResponse<>(1000, "Hybrid reasoning results processed", results));
+	}
+
 	@PutMapping("/admin/{id}/approve")
 	public ResponseEntity<ApiResponse<ProofResponse>> approveProof(@PathVariable String id) {
 		log.info("Admin approving proof: {}", id);
@@ -7,7 +7,7 @@ import org.springframework.web.bind.annotation.*;
 
 import com.nht.core_service.dto.request.PaymentWebhookRequest;
 import com.nht.core_service.dto.response.ApiResponse;
-import com.nht.core_service.service.DonationService;
+import com.nht.core_service.service.PaymentWebhookService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,13 +18,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class WebhookController {
 
-	private final DonationService donationService;
+	private final PaymentWebhookService paymentWebhookService;
 
 	@PostMapping("/payment")
 	public ResponseEntity<ApiResponse<Void>> handlePaymentWebhook(@Valid @RequestBody PaymentWebhookRequest request) {
 
-		donationService.processPaymentWebhook(request);
+		// Journaled only; matched against donations and published by PaymentWebhookDrainJob
+		paymentWebhookService.enqueue(request);
 
-		return ResponseEntity.ok(new ApiResponse<>("Payment processed successfully", null));
+		return ResponseEntity.ok(new ApiResponse<>("Payment received successfully", null));
 	}
 }
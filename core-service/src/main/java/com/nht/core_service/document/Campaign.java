@@ -9,8 +9,12 @@ import jakarta.persistence.Column;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import com.nht.core_service.enums.CampaignStatus;
 
@@ -19,7 +23,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-@Document(collection = "campaigns")
+// language "none": Vietnamese text, so no English stemming or stop words in the text index
+@Document(collection = "campaigns", language = "none")
+// Built at startup only because spring.data.mongodb.auto-index-creation is on; otherwise create them by hand
+@CompoundIndexes({
+	// Keyset pagination: ORDER BY createdAt DESC, _id DESC
+	@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+	@CompoundIndex(name = "ownerId_createdAt_id", def = "{'ownerId': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -30,14 +41,22 @@ public class Campaign {
 	private String id;
 
 	@Indexed
+	@TextIndexed(weight = 5)
 	private String title;
+	@TextIndexed(weight = 2)
 	private String description;
+	@TextIndexed
 	private String content;
 
+	// Short plain-text summary of content, maintained on write for list projections
+	private String excerpt;
+
 	private BigDecimal targetAmount;
 	private BigDecimal usedAmount;
 
 	private BigDecimal currentAmount;
+	// Latest donations already added to currentAmount, so a retried $inc is not applied twice
+	private List<String> recentDonationIds;
 	private List<String> images;
 
 	@Indexed
@@ -59,9 +78,14 @@ public class Campaign {
 	@Builder.Default
 	private Long likeCount = 0L;
 
+	// Unique viewers (HyperLogLog estimate)
 	@Builder.Default
 	private Long viewCount = 0L;
 
+	// Every detail page view, including repeat visits
+	@Builder.Default
+	private Long rawViewCount = 0L;
+
 	@Builder.Default
 	private Long commentCount = 0L;
 
@@ -71,5 +95,9 @@ public class Campaign {
 	@LastModifiedDate
 	private Instant updatedAt;
 
+	// Relevance of the last $text query, never persisted
+	@TextScore
+	private Float score;
+
     private String getDescription;
 }
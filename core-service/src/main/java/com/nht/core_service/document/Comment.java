@@ -14,7 +14,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Document(collection = "comments")
-@CompoundIndex(def = "{'campaignId': 1, 'createdAt': -1}")
+// _id breaks ties between comments created in the same millisecond for cursor paging
+@CompoundIndex(def = "{'campaignId': 1, 'createdAt': -1, '_id': -1}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,51 @@
+package com.nht.core_service.document;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outbox for Kafka messages produced by MongoDB-side writes.
+ * The relay claims documents with a short lease (lockedUntil/lockOwner)
+ * since MongoDB has no SKIP LOCKED.
+ */
+@Document(collection = "outbox_messages")
+@CompoundIndex(name = "publishedAt_createdAt", def = "{'publishedAt': 1, 'createdAt': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMessage {
+
+	@Id
+	private String id;
+
+	private String topic;
+	private String messageKey;
+	// JSON value, sent as-is
+	private String payload;
+
+	@Builder.Default
+	private int attempts = 0;
+	private String lastError;
+
+	private Instant createdAt;
+
+	// Published messages expire after a week; unpublished ones (null) never do
+	@Indexed(name = "publishedAt_ttl", expireAfter = "7d")
+	private Instant publishedAt;
+
+	// Set once max-attempts is reached; parked messages are no longer relayed
+	private Instant deadAt;
+
+	private Instant lockedUntil;
+	private String lockOwner;
+}
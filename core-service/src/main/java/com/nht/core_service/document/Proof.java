@@ -43,16 +43,13 @@ public class Proof {
 
 	private String aiAnalysis; // JSON string from AI Service
 
-	// Community Review Fields
+	// Community Review Fields; who voted lives in proof_votes
 	@Builder.Default
 	private Integer upvoteCount = 0;
 
 	@Builder.Default
 	private Integer reportCount = 0;
 
-	private List<String> upvoterIds;
-	private List<String> reporterIds;
-
 	@CreatedDate
 	private Instant createdAt;
 
@@ -0,0 +1,38 @@
+package com.nht.core_service.document;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One document per user vote; the unique index is what makes a vote count once
+@Document(collection = "proof_votes")
+@CompoundIndex(def = "{'proofId': 1, 'userId': 1, 'type': 1}", unique = true)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProofVote {
+
+	public static final String TYPE_UPVOTE = "UPVOTE";
+	public static final String TYPE_REPORT = "REPORT";
+
+	@Id
+	private String id;
+
+	private String proofId;
+
+	private String userId;
+
+	private String type; // "UPVOTE" or "REPORT"
+
+	@CreatedDate
+	private Instant createdAt;
+}
@@ -59,6 +59,14 @@ public class WithdrawalRequest {
 	@Builder.Default
 	private WithdrawalStatus status = WithdrawalStatus.PENDING;
 
+	// Set by the blockchain callback when amount was added to the campaign's usedAmount
+	private Instant fundsTransferredAt;
+
+	// Bumped by every status transition, which are conditional updates, never full saves; a caller
+	// acting on an earlier read passes it to WithdrawalStateMachine as the expected version
+	@Builder.Default
+	private Long version = 0L;
+
 	@CreatedDate
 	private Instant createdAt;
 
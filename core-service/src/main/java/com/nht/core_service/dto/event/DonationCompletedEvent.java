@@ -0,0 +1,13 @@
+package com.nht.core_service.dto.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Published in-process by completeDonation; handled after the transaction commits
+public record DonationCompletedEvent(
+		String donationId,
+		String campaignId,
+		BigDecimal amount,
+		String donorName,
+		String donorEmail,
+		Instant completedAt) {}
@@ -0,0 +1,9 @@
+package com.nht.core_service.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record CreateCommentRequest(
+		@NotBlank(message = "Comment content is required")
+		@Size(max = 2000, message = "Comment must be at most 2000 characters")
+		String content) {}
@@ -8,7 +8,7 @@ import java.util.List;
 
 public record CampaignPageResponse (String id,
                                     String title,
-                                    String content,
+                                    String content, // excerpt only, full narrative is in CampaignResponse
                                     BigDecimal targetAmount,
                                     BigDecimal usedAmount,
                                     BigDecimal currentAmount,
@@ -0,0 +1,26 @@
+package com.nht.core_service.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CampaignReconciliationReport(
+		boolean dryRun,
+		long donationsScanned,
+		long withdrawalsScanned,
+		long campaignsChecked,
+		long campaignsDrifted,
+		long campaignsRepaired,
+		// Drifted but left alone because donations or withdrawals may still be in flight
+		long campaignsSkipped,
+		long durationMs,
+		// First drifted campaigns only; the counters above cover all of them
+		List<Drift> drifts) {
+
+	public record Drift(
+			String campaignId,
+			BigDecimal expectedCurrentAmount,
+			BigDecimal actualCurrentAmount,
+			BigDecimal expectedUsedAmount,
+			BigDecimal actualUsedAmount,
+			boolean repaired) {}
+}
@@ -22,4 +22,7 @@ public record CampaignResponse(
 		Boolean hasUsedQuickWithdrawal,
 		Long likeCount,
 		Long viewCount,
-		Long commentCount) {}
+		Long commentCount,
+		Long donationCount,
+		Long uniqueDonors,
+		LocalDateTime lastDonationAt) {}
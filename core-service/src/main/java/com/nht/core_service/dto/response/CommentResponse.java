@@ -0,0 +1,10 @@
+package com.nht.core_service.dto.response;
+
+import java.time.Instant;
+
+public record CommentResponse(
+		String id,
+		String campaignId,
+		String userId,
+		String content,
+		Instant createdAt) {}
@@ -0,0 +1,25 @@
+package com.nht.core_service.dto.response;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Keyset (cursor) page. Pass {@code nextCursor} back as {@code cursor} to fetch the next page.
+ * {@code totalElements} is only filled when the caller explicitly asks for it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPageResponse<T>(
+        int pageSize,
+        boolean hasNext,
+        String nextCursor,
+        Long totalElements,
+        List<T> data) {
+
+    public CursorPageResponse {
+        if (data == null) {
+            data = Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.nht.core_service.dto.response;
+
+import com.nht.core_service.enums.AiStatus;
+import com.nht.core_service.enums.CallbackItemStatus;
+
+// index is the item's position in the request array
+public record HybridCallbackItemResponse(int index, String proofId, CallbackItemStatus status, AiStatus aiStatus) {}
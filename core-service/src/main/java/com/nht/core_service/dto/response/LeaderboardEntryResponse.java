@@ -0,0 +1,5 @@
+package com.nht.core_service.dto.response;
+
+import java.math.BigDecimal;
+
+public record LeaderboardEntryResponse(long rank, String donorName, BigDecimal totalAmount) {}
@@ -0,0 +1,3 @@
+package com.nht.core_service.dto.response;
+
+public record LikeResponse(String campaignId, boolean liked, Long likeCount) {}
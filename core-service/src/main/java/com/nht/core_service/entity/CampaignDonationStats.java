@@ -0,0 +1,40 @@
+package com.nht.core_service.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of a campaign's completed donations, upserted in the transaction that
+ * completes each donation so readers never aggregate the donation table.
+ */
+@Entity
+@Table(name = "campaign_donation_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignDonationStats {
+
+	@Id
+	@Column(name = "campaign_id")
+	private String campaignId;
+
+	@Column(name = "donation_count", nullable = false)
+	private long donationCount;
+
+	@Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+	private BigDecimal totalAmount;
+
+	@Column(name = "unique_donors", nullable = false)
+	private long uniqueDonors;
+
+	@Column(name = "last_donation_at")
+	private LocalDateTime lastDonationAt;
+}
@@ -0,0 +1,34 @@
+package com.nht.core_service.entity;
+
+import jakarta.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per distinct donor of a campaign; a successful insert is what bumps
+ * {@link CampaignDonationStats#getUniqueDonors()}.
+ */
+@Entity
+@Table(name = "campaign_donor", uniqueConstraints = {
+	@UniqueConstraint(name = "uk_campaign_donor_campaign_donor", columnNames = {"campaign_id", "donor_key"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CampaignDonor {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "campaign_id", nullable = false)
+	private String campaignId;
+
+	// Lower-cased email, or the donor name when no email was given
+	@Column(name = "donor_key", nullable = false)
+	private String donorKey;
+}
@@ -16,6 +16,7 @@ import lombok.NoArgsConstructor;
 @Entity
 @Table(name = "donation", indexes = {
 	@Index(name = "idx_donation_campaign_id", columnList = "campaign_id"),
+	@Index(name = "idx_donation_campaign_id_created_at", columnList = "campaign_id, created_at"),
 	@Index(name = "idx_donation_payment_status", columnList = "payment_status"),
 	@Index(name = "idx_donation_payos_transaction_id", columnList = "payos_transaction_id"),
 	@Index(name = "idx_donation_payment_code", columnList = "payment_code", unique = true),
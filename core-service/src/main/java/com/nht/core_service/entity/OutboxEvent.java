@@ -0,0 +1,63 @@
+package com.nht.core_service.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Kafka message written in the same transaction as the state change that produced it;
+ * published later by the outbox relay.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+	@Index(name = "idx_outbox_event_published_at_id", columnList = "published_at, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private String topic;
+
+	@Column(name = "message_key")
+	private String messageKey;
+
+	// JSON value, sent as-is
+	@Column(nullable = false, columnDefinition = "TEXT")
+	private String payload;
+
+	@Column(nullable = false)
+	@Builder.Default
+	private int attempts = 0;
+
+	@Column(name = "last_error", columnDefinition = "TEXT")
+	private String lastError;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "published_at")
+	private LocalDateTime publishedAt;
+
+	// Set once max-attempts is reached; parked rows are no longer relayed
+	@Column(name = "dead_at")
+	private LocalDateTime deadAt;
+
+	@PrePersist
+	protected void onCreate() {
+		if (createdAt == null) {
+			createdAt = LocalDateTime.now();
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package com.nht.core_service.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+import com.nht.core_service.enums.WebhookJournalStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bank webhooks as received, appended before they are acknowledged and drained in batches.
+ */
+@Entity
+@Table(name = "payment_webhook_journal", indexes = {
+	@Index(name = "idx_payment_webhook_journal_status_id", columnList = "status, id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentWebhookJournal {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// Bank transaction ID; unique so bank retries are journaled once
+	@Column(name = "webhook_id", nullable = false, unique = true)
+	private String webhookId;
+
+	@Column(columnDefinition = "TEXT")
+	private String content;
+
+	@Column(name = "transfer_amount", precision = 19, scale = 2)
+	private BigDecimal transferAmount;
+
+	@Column(name = "reference_code")
+	private String referenceCode;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	@Builder.Default
+	private WebhookJournalStatus status = WebhookJournalStatus.PENDING;
+
+	@Column(name = "last_error", columnDefinition = "TEXT")
+	private String lastError;
+
+	@Column(name = "received_at", nullable = false, updatable = false)
+	private LocalDateTime receivedAt;
+
+	@Column(name = "processed_at")
+	private LocalDateTime processedAt;
+}
@@ -0,0 +1,9 @@
+package com.nht.core_service.enums;
+
+public enum CallbackItemStatus {
+	APPLIED,
+	// Another item later in the same batch carried a result for the same proof
+	SUPERSEDED,
+	NOT_FOUND,
+	FAILED
+}
@@ -0,0 +1,6 @@
+package com.nht.core_service.enums;
+
+public enum ExportFormat {
+	CSV,
+	NDJSON
+}
@@ -0,0 +1,8 @@
+package com.nht.core_service.enums;
+
+public enum WebhookJournalStatus {
+	PENDING,
+	PUBLISHED,
+	SKIPPED,
+	REJECTED
+}
@@ -30,6 +30,9 @@ public enum ErrorCode {
 	PAYMENT_FAILED(2204, "Payment failed", HttpStatus.BAD_REQUEST), // Added
 	PAYMENT_NOT_FOUND(2205, "Payment not found", HttpStatus.NOT_FOUND), // Added
 	DONATION_EXCEEDS_TARGET(2206,"donation excess_target",HttpStatus.BAD_REQUEST),
+	LEADERBOARD_REBUILD_IN_PROGRESS(2207, "A leaderboard rebuild is already running", HttpStatus.CONFLICT),
+	INVALID_EXPORT_FORMAT(2208, "Export format must be csv or ndjson", HttpStatus.BAD_REQUEST),
+	DONATION_EXPORT_BUSY(2209, "Too many donation exports are running, retry later", HttpStatus.TOO_MANY_REQUESTS),
 
 
 	// Withdrawal errors (2300-2399)
@@ -39,11 +42,14 @@ public enum ErrorCode {
 	QUICK_WITHDRAWAL_ALREADY_USED(2304, "Quick withdrawal has already been used for this campaign", HttpStatus.BAD_REQUEST),
 	WITHDRAWAL_BLOCKED_WAITING_PROOF(
 			2305, "Withdrawals are blocked while waiting for proof submission", HttpStatus.BAD_REQUEST),
+	WITHDRAWAL_EVENT_QUEUE_FAILED(
+			2306, "Failed to queue the withdrawal event, approval was rolled back", HttpStatus.INTERNAL_SERVER_ERROR),
 
 	// Proof errors (2400-2499)
 	PROOF_NOT_FOUND(2401, "Proof not found", HttpStatus.NOT_FOUND),
 	PROOF_ALREADY_SUBMITTED(2402, "Proof already submitted for this campaign", HttpStatus.BAD_REQUEST),
 	AI_ANALYSIS_FAILED(2403, "AI analysis failed", HttpStatus.INTERNAL_SERVER_ERROR),
+	HYBRID_CALLBACK_BATCH_TOO_LARGE(2404, "Too many hybrid results in one callback", HttpStatus.BAD_REQUEST),
 
 	// File service errors (2500-2599)
 	FILE_UPLOAD_FAILED(2501, "File upload failed", HttpStatus.INTERNAL_SERVER_ERROR),
@@ -52,6 +58,15 @@ public enum ErrorCode {
 	UNAUTHENTICATED(1006, "Unauthenticated", HttpStatus.UNAUTHORIZED),
 	UNAUTHORIZED(1007, "You do not have permission", HttpStatus.FORBIDDEN),
 	INVALID_STATUS(1008, "invalid status", HttpStatus.BAD_REQUEST),
+	INVALID_CURSOR(1009, "Invalid pagination cursor", HttpStatus.BAD_REQUEST),
+	INVALID_SEARCH_QUERY(1010, "Search query must be 1-100 characters", HttpStatus.BAD_REQUEST),
+	INVALID_IDEMPOTENCY_KEY(1011, "Idempotency-Key must be 1-255 characters", HttpStatus.BAD_REQUEST),
+	IDEMPOTENCY_REQUEST_IN_PROGRESS(
+			1012, "A request with this Idempotency-Key is still being processed", HttpStatus.CONFLICT),
+	IDEMPOTENCY_KEY_REUSED(
+			1013, "Idempotency-Key was already used with a different request", HttpStatus.UNPROCESSABLE_ENTITY),
+	IDEMPOTENT_REQUEST_TOO_LARGE(
+			1014, "Request body is too large for an Idempotency-Key request", HttpStatus.CONTENT_TOO_LARGE),
 
 	// KYC errors (4000-4099)
 	KYC_NOT_VERIFIED(4001, "User has not completed KYC verification", HttpStatus.BAD_REQUEST),
@@ -0,0 +1,44 @@
+package com.nht.core_service.kafka.listener;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.kafka.event.ProofVerificationResultEvent;
+import com.nht.core_service.service.ProofService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Component
+@ConditionalOnProperty(name = "ai.result.listener.mode", havingValue = "batch", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class AiResultBatchListener {
+
+	private final ProofService proofService;
+
+	@KafkaListener(
+			topics = "proof-verification-result",
+			groupId = "core-service-group",
+			containerFactory = "aiResultBatchListenerContainerFactory")
+	public void handleAiResults(List<ProofVerificationResultEvent> events) {
+		log.info("Received {} AI verification results", events.size());
+		Set<String> missing = proofService.updateProofsFromAiResults(events);
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		// Like PROOF_NOT_FOUND in record mode: the error handler commits what came before this
+		// record, retries from it (the proof may just not be visible yet) and then sends it to the DLT
+		for (int i = 0; i < events.size(); i++) {
+			if (missing.contains(events.get(i).proofId())) {
+				throw new BatchListenerFailedException("Proof not found: " + events.get(i).proofId(), i);
+			}
+		}
+	}
+}
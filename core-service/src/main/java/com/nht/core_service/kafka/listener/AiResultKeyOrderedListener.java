@@ -0,0 +1,38 @@
+package com.nht.core_service.kafka.listener;
+
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.kafka.event.ProofVerificationResultEvent;
+import com.nht.core_service.service.ProofService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// ai.result.listener.mode=key-ordered: results for one proof stay in order, different proofs run in parallel
+@Component
+@ConditionalOnProperty(name = "ai.result.listener.mode", havingValue = "key-ordered")
+@RequiredArgsConstructor
+@Slf4j
+public class AiResultKeyOrderedListener {
+
+	private final ProofService proofService;
+	private final KeyOrderedDispatcher keyOrderedDispatcher;
+
+	@KafkaListener(
+			topics = "proof-verification-result",
+			groupId = "core-service-group",
+			containerFactory = "keyOrderedListenerContainerFactory")
+	public void handleAiResults(List<ConsumerRecord<String, ProofVerificationResultEvent>> records) {
+		log.info("Received {} AI verification results", records.size());
+		keyOrderedDispatcher.dispatch(
+				"ai-result",
+				records,
+				record -> record.key() != null ? record.key() : record.value().proofId(),
+				proofService::updateProofFromAiResult);
+	}
+}
@@ -1,5 +1,6 @@
 package com.nht.core_service.kafka.listener;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.annotation.RetryableTopic;
@@ -13,7 +14,9 @@ import com.nht.core_service.service.ProofService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+// ai.result.listener.mode=record; see AiResultBatchListener and AiResultKeyOrderedListener
 @Component
+@ConditionalOnProperty(name = "ai.result.listener.mode", havingValue = "record")
 @RequiredArgsConstructor
 @Slf4j
 public class AiResultListener {
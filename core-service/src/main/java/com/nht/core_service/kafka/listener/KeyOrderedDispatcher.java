@@ -0,0 +1,113 @@
+package com.nht.core_service.kafka.listener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import jakarta.annotation.PostConstruct;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Processes one poll of records on virtual threads: records are grouped by key, each
+ * group runs in order on its own thread, and groups run in parallel. The call returns
+ * once every group has finished, so the container commits the poll's offsets only after
+ * all of it is processed and a slow key only delays its own group.
+ * <p>
+ * If a record fails, a {@link BatchListenerFailedException} for the earliest failed
+ * offset is thrown; records of other keys after it are redelivered, so handlers must be
+ * idempotent.
+ * <p>
+ * Metrics: {@code kafka.dispatch.poll{listener}} and {@code kafka.dispatch.keys{listener}}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeyOrderedDispatcher implements DisposableBean {
+
+	private final MeterRegistry meterRegistry;
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+	@Value("${kafka.consumer.key-ordered.max-in-flight:64}")
+	private int maxInFlight;
+
+	private Semaphore inFlight;
+
+	@PostConstruct
+	void init() {
+		inFlight = new Semaphore(Math.max(1, maxInFlight));
+	}
+
+	public <V> void dispatch(String listener, List<ConsumerRecord<String, V>> records,
+			Function<ConsumerRecord<String, V>, String> keyOf, Consumer<V> handler) {
+		Map<String, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < records.size(); i++) {
+			groups.computeIfAbsent(keyOf.apply(records.get(i)), k -> new ArrayList<>()).add(i);
+		}
+		meterRegistry.summary("kafka.dispatch.keys", "listener", listener).record(groups.size());
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+		List<Future<Integer>> results = new ArrayList<>(groups.size());
+		for (List<Integer> group : groups.values()) {
+			results.add(executor.submit(() -> {
+				inFlight.acquire();
+				try {
+					for (int index : group) {
+						try {
+							handler.accept(records.get(index).value());
+						} catch (Exception e) {
+							log.error("Listener {} failed on record at offset {}", listener,
+									records.get(index).offset(), e);
+							// The rest of this key waits for redelivery to stay in order
+							return index;
+						}
+					}
+					return -1;
+				} finally {
+					inFlight.release();
+				}
+			}));
+		}
+
+		int firstFailed = Integer.MAX_VALUE;
+		for (Future<Integer> result : results) {
+			try {
+				int failedIndex = result.get();
+				if (failedIndex >= 0) {
+					firstFailed = Math.min(firstFailed, failedIndex);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while dispatching " + listener, e);
+			} catch (Exception e) {
+				throw new IllegalStateException("Dispatch failed for " + listener, e);
+			}
+		}
+		sample.stop(meterRegistry.timer("kafka.dispatch.poll", "listener", listener));
+
+		if (firstFailed != Integer.MAX_VALUE) {
+			throw new BatchListenerFailedException("Record processing failed in " + listener, firstFailed);
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+}
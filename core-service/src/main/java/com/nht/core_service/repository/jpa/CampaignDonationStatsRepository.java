@@ -0,0 +1,46 @@
+package com.nht.core_service.repository.jpa;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nht.core_service.entity.CampaignDonationStats;
+
+@Repository
+public interface CampaignDonationStatsRepository extends JpaRepository<CampaignDonationStats, String> {
+
+	// Returns 1 the first time this donor gives to the campaign, 0 afterwards
+	@Modifying
+	@Query(value = """
+			INSERT INTO campaign_donor (campaign_id, donor_key)
+			VALUES (:campaignId, LOWER(COALESCE(NULLIF(TRIM(:donorEmail), ''), TRIM(:donorName))))
+			ON CONFLICT (campaign_id, donor_key) DO NOTHING
+			""", nativeQuery = true)
+	int registerDonor(
+			@Param("campaignId") String campaignId,
+			@Param("donorEmail") String donorEmail,
+			@Param("donorName") String donorName);
+
+	// One row-level upsert instead of a COUNT/SUM over the donation table
+	@Modifying
+	@Query(value = """
+			INSERT INTO campaign_donation_stats
+				(campaign_id, donation_count, total_amount, unique_donors, last_donation_at)
+			VALUES (:campaignId, 1, :amount, :newDonors, :donatedAt)
+			ON CONFLICT (campaign_id) DO UPDATE SET
+				donation_count = campaign_donation_stats.donation_count + 1,
+				total_amount = campaign_donation_stats.total_amount + EXCLUDED.total_amount,
+				unique_donors = campaign_donation_stats.unique_donors + EXCLUDED.unique_donors,
+				last_donation_at = GREATEST(campaign_donation_stats.last_donation_at, EXCLUDED.last_donation_at)
+			""", nativeQuery = true)
+	int recordDonation(
+			@Param("campaignId") String campaignId,
+			@Param("amount") BigDecimal amount,
+			@Param("newDonors") int newDonors,
+			@Param("donatedAt") LocalDateTime donatedAt);
+}
@@ -1,5 +1,6 @@
 package com.nht.core_service.repository.jpa;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,7 +16,7 @@ public interface DonationRepository extends JpaRepository<Donation, UUID> {
 
 	Optional<Donation> findByPaymentCode(String paymentCode);
 
-	Long countByCampaignId(String campaignId);
+	List<Donation> findByPaymentCodeIn(Collection<String> paymentCodes);
 
 	List<Donation> findTop10ByPaymentStatusOrderByCreatedAtDesc(com.nht.core_service.enums.PaymentStatus paymentStatus);
 }
@@ -0,0 +1,35 @@
+package com.nht.core_service.repository.jpa;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nht.core_service.entity.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	// Rows being relayed by another node are skipped, not waited on
+	@Query(value = """
+			SELECT * FROM outbox_event
+			WHERE published_at IS NULL AND dead_at IS NULL
+			ORDER BY id
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<OutboxEvent> lockUnpublishedBatch(@Param("limit") int limit);
+
+	Optional<OutboxEvent> findFirstByPublishedAtIsNullAndDeadAtIsNullOrderByIdAsc();
+
+	long countByPublishedAtIsNullAndDeadAtIsNull();
+
+	@Modifying
+	@Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+	int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,51 @@
+package com.nht.core_service.repository.jpa;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nht.core_service.entity.PaymentWebhookJournal;
+import com.nht.core_service.enums.WebhookJournalStatus;
+
+@Repository
+public interface PaymentWebhookJournalRepository extends JpaRepository<PaymentWebhookJournal, Long> {
+
+	// Single round trip; a webhook the bank re-delivers is silently ignored
+	@Modifying
+	@Query(value = """
+			INSERT INTO payment_webhook_journal
+				(webhook_id, content, transfer_amount, reference_code, status, received_at)
+			VALUES (:webhookId, :content, :transferAmount, :referenceCode, 'PENDING', now())
+			ON CONFLICT (webhook_id) DO NOTHING
+			""", nativeQuery = true)
+	int append(
+			@Param("webhookId") String webhookId,
+			@Param("content") String content,
+			@Param("transferAmount") BigDecimal transferAmount,
+			@Param("referenceCode") String referenceCode);
+
+	// Rows locked by another node's drain are skipped, not waited on
+	@Query(value = """
+			SELECT * FROM payment_webhook_journal
+			WHERE status = 'PENDING'
+			ORDER BY id
+			LIMIT :limit
+			FOR UPDATE SKIP LOCKED
+			""", nativeQuery = true)
+	List<PaymentWebhookJournal> lockPendingBatch(@Param("limit") int limit);
+
+	long countByStatus(WebhookJournalStatus status);
+
+	@Modifying
+	@Query("DELETE FROM PaymentWebhookJournal j WHERE j.status IN :statuses AND j.processedAt < :before")
+	int deleteProcessedBefore(
+			@Param("statuses") Collection<WebhookJournalStatus> statuses,
+			@Param("before") LocalDateTime before);
+}
@@ -3,11 +3,23 @@ package com.nht.core_service.repository.mongodb;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.nht.core_service.document.Campaign;
 
 @Repository
 public interface CampaignRepository extends MongoRepository<Campaign, String> {
+
+	// List pages only need the card fields; the narrative is served by the detail endpoint
+	String LIST_PROJECTION = "{ 'content': 0, 'description': 0, 'recentDonationIds': 0 }";
+	String[] LIST_EXCLUDED_FIELDS = {"content", "description", "recentDonationIds"};
+
 	Page<Campaign> findByOwnerId(String ownerId, Pageable pageable);
+
+	@Query(value = "{}", fields = LIST_PROJECTION)
+	Page<Campaign> findAllForList(Pageable pageable);
+
+	@Query(value = "{ 'ownerId': ?0 }", fields = LIST_PROJECTION)
+	Page<Campaign> findByOwnerIdForList(String ownerId, Pageable pageable);
 }
@@ -1,6 +1,9 @@
 package com.nht.core_service.repository.mongodb;
 
+import java.util.List;
+
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.nht.core_service.document.Interaction;
@@ -11,4 +14,7 @@ public interface InteractionRepository extends MongoRepository<Interaction, Stri
 	boolean existsByCampaignIdAndUserIdAndType(String campaignId, String userId, String type);
 
 	void deleteByCampaignIdAndUserIdAndType(String campaignId, String userId, String type);
+
+	@Query(value = "{ 'campaignId': ?0, 'type': ?1 }", fields = "{ 'userId': 1 }")
+	List<Interaction> findUserIdsByCampaignIdAndType(String campaignId, String type);
 }
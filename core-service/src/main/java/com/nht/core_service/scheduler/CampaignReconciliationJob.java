@@ -0,0 +1,37 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.dto.response.CampaignReconciliationReport;
+import com.nht.core_service.service.CampaignReconciliationService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly currentAmount/usedAmount check; reports only unless dry-run is turned off.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignReconciliationJob {
+
+	private final CampaignReconciliationService campaignReconciliationService;
+
+	@Value("${campaign.reconciliation.dry-run:true}")
+	private boolean dryRun;
+
+	@Scheduled(cron = "${campaign.reconciliation.cron:0 0 4 * * *}")
+	public void reconcile() {
+		try {
+			CampaignReconciliationReport report = campaignReconciliationService.reconcile(dryRun);
+			if (report.campaignsDrifted() > 0) {
+				log.warn("Campaign reconciliation found drift: {}", report);
+			}
+		} catch (Exception e) {
+			log.error("Failed to reconcile campaigns", e);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.service.WebSocketService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Broadcasts the conflated campaign stats collected since the previous run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignStatsFlushJob {
+
+	private final WebSocketService webSocketService;
+
+	@Scheduled(fixedDelayString = "${websocket.stats.flush-interval-ms:250}")
+	public void flush() {
+		try {
+			webSocketService.flushCampaignStats();
+		} catch (Exception e) {
+			log.error("Failed to flush campaign stats", e);
+		}
+	}
+}
@@ -0,0 +1,25 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.service.InteractionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Periodically writes the like counters buffered in Redis through to MongoDB.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeCounterFlushJob {
+
+	private final InteractionService interactionService;
+
+	@Scheduled(
+			fixedDelayString = "${campaign.likes.flush-interval-ms:5000}",
+			initialDelayString = "${campaign.likes.flush-interval-ms:5000}")
+	public void flush() {
+		interactionService.flushPendingLikes();
+	}
+}
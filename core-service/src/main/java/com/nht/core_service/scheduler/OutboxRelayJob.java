@@ -0,0 +1,62 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.service.OutboxService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Relays both outboxes to Kafka; keeps taking batches while they come back full.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelayJob {
+
+	private final OutboxService outboxService;
+
+	@Value("${outbox.relay.batch-size:500}")
+	private int batchSize;
+
+	@Value("${outbox.relay.max-batches-per-run:20}")
+	private int maxBatchesPerRun;
+
+	@Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+	public void relayPostgres() {
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				if (outboxService.relayPostgres() < batchSize) {
+					return;
+				}
+			}
+		} catch (Exception e) {
+			log.error("Failed to relay Postgres outbox", e);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+	public void relayMongo() {
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				if (outboxService.relayMongo() < batchSize) {
+					return;
+				}
+			}
+		} catch (Exception e) {
+			log.error("Failed to relay MongoDB outbox", e);
+		}
+	}
+
+	@Scheduled(cron = "${outbox.purge-cron:0 30 3 * * *}")
+	public void purge() {
+		try {
+			outboxService.purgePostgres();
+		} catch (Exception e) {
+			log.error("Failed to purge outbox", e);
+		}
+	}
+}
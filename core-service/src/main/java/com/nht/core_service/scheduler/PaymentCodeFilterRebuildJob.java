@@ -0,0 +1,29 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.cache.PendingPaymentCodeFilter;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the pending payment code filter at startup and rebuilds it to drop completed codes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentCodeFilterRebuildJob {
+
+	private final PendingPaymentCodeFilter pendingPaymentCodeFilter;
+
+	@Scheduled(initialDelay = 0, fixedDelayString = "${payment.code-filter.rebuild-interval-ms:3600000}")
+	public void rebuild() {
+		try {
+			pendingPaymentCodeFilter.rebuild();
+		} catch (Exception e) {
+			log.error("Failed to rebuild pending payment code filter", e);
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.service.PaymentWebhookService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drains the payment webhook journal; keeps taking batches while they come back full.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookDrainJob {
+
+	private final PaymentWebhookService paymentWebhookService;
+
+	@Value("${payment.webhook.batch-size:200}")
+	private int batchSize;
+
+	@Value("${payment.webhook.max-batches-per-run:20}")
+	private int maxBatchesPerRun;
+
+	@Scheduled(fixedDelayString = "${payment.webhook.drain-interval-ms:500}")
+	public void drain() {
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				if (paymentWebhookService.drainJournal() < batchSize) {
+					return;
+				}
+			}
+		} catch (Exception e) {
+			log.error("Failed to drain payment webhook journal", e);
+		}
+	}
+
+	@Scheduled(cron = "${payment.webhook.purge-cron:0 0 3 * * *}")
+	public void purge() {
+		try {
+			paymentWebhookService.purgeJournal();
+		} catch (Exception e) {
+			log.error("Failed to purge payment webhook journal", e);
+		}
+	}
+}
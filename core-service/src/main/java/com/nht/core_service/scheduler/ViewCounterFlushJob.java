@@ -0,0 +1,31 @@
+package com.nht.core_service.scheduler;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nht.core_service.service.CampaignViewService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically merges in-memory view counters into Redis and MongoDB.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCounterFlushJob {
+
+	private final CampaignViewService campaignViewService;
+
+	@Scheduled(
+			fixedDelayString = "${campaign.views.flush-interval-ms:10000}",
+			initialDelayString = "${campaign.views.flush-interval-ms:10000}")
+	public void flush() {
+		try {
+			campaignViewService.flushViews();
+		} catch (Exception e) {
+			log.error("Failed to flush campaign views", e);
+		}
+	}
+}
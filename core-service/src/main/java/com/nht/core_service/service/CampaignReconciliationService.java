@@ -0,0 +1,12 @@
+package com.nht.core_service.service;
+
+import com.nht.core_service.dto.response.CampaignReconciliationReport;
+
+public interface CampaignReconciliationService {
+
+	/**
+	 * Recomputes currentAmount and usedAmount of every campaign from the donation table and
+	 * the transferred withdrawals, and repairs drifted campaigns unless {@code dryRun}.
+	 */
+	CampaignReconciliationReport reconcile(boolean dryRun);
+}
@@ -4,14 +4,26 @@ import com.nht.core_service.document.Campaign;
 import com.nht.core_service.dto.request.CreateCampaignRequest;
 import com.nht.core_service.dto.response.CampaignPageResponse;
 import com.nht.core_service.dto.response.CampaignResponse;
+import com.nht.core_service.dto.response.CursorPageResponse;
 import com.nht.core_service.dto.response.PageResponse;
+import com.nht.core_service.enums.CampaignStatus;
+
+import java.util.List;
 
 public interface CampaignService {
 
 	Campaign createCampaign(CreateCampaignRequest request);
 
 	CampaignResponse getCampaignById(String id);
+	// Same as getCampaignById, and counts the view for viewerId (user ID or client address)
+	CampaignResponse getCampaignById(String id, String viewerId);
 	PageResponse<CampaignPageResponse> getCampaigns(int size, int page);
 	PageResponse<CampaignPageResponse> getMyCampaigns(int size, int page);
+
+	// Keyset pagination: no skip, total count only on request
+	CursorPageResponse<CampaignPageResponse> getCampaignsByCursor(String cursor, int size, boolean includeTotal);
+	CursorPageResponse<CampaignPageResponse> getMyCampaignsByCursor(String cursor, int size, boolean includeTotal);
+	// Full-text search ranked by relevance; status and ownerId are optional filters
+	List<CampaignPageResponse> searchCampaigns(String q, CampaignStatus status, String ownerId, int page, int size);
 	void closeCampaign(String id);
 }
@@ -0,0 +1,10 @@
+package com.nht.core_service.service;
+
+public interface CampaignViewService {
+
+	// Hot path: in-memory only, never touches Redis or MongoDB
+	void recordView(String campaignId, String viewerId);
+
+	// Merge buffered views into the Redis HyperLogLogs and MongoDB viewCount
+	void flushViews();
+}
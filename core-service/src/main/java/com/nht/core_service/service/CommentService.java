@@ -0,0 +1,13 @@
+package com.nht.core_service.service;
+
+import com.nht.core_service.dto.request.CreateCommentRequest;
+import com.nht.core_service.dto.response.CommentResponse;
+import com.nht.core_service.dto.response.CursorPageResponse;
+
+public interface CommentService {
+
+	CommentResponse createComment(String campaignId, CreateCommentRequest request);
+
+	// Newest first, paged by (createdAt, id) cursor; the first page is served from Redis
+	CursorPageResponse<CommentResponse> getComments(String campaignId, String cursor, int size);
+}
@@ -0,0 +1,22 @@
+package com.nht.core_service.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.nht.core_service.enums.ExportFormat;
+import com.nht.core_service.enums.PaymentStatus;
+
+public interface DonationExportService {
+
+	/**
+	 * Fails fast, before the response is committed, when the export cannot be produced.
+	 */
+	void validateExport(String campaignId);
+
+	/**
+	 * Writes the campaign's donations, oldest first, and returns the number of rows written.
+	 * {@code status} is optional.
+	 */
+	long exportDonations(String campaignId, PaymentStatus status, ExportFormat format, OutputStream out)
+			throws IOException;
+}
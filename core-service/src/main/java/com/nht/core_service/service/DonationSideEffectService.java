@@ -0,0 +1,12 @@
+package com.nht.core_service.service;
+
+import com.nht.core_service.dto.event.DonationCompletedEvent;
+
+public interface DonationSideEffectService {
+
+	// Queues the post-commit side effects of a completed donation on its campaign's lane
+	void onDonationCompleted(DonationCompletedEvent event);
+
+	// Runs the side effects inline; each step is idempotent and retried on failure
+	void apply(DonationCompletedEvent event);
+}
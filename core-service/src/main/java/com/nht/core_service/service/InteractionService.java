@@ -0,0 +1,13 @@
+package com.nht.core_service.service;
+
+import com.nht.core_service.dto.response.LikeResponse;
+
+public interface InteractionService {
+
+	LikeResponse likeCampaign(String campaignId);
+
+	LikeResponse unlikeCampaign(String campaignId);
+
+	// Write-behind: apply the like deltas buffered in Redis to MongoDB
+	void flushPendingLikes();
+}
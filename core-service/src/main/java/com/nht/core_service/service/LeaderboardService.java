@@ -0,0 +1,24 @@
+package com.nht.core_service.service;
+
+import java.math.BigDecimal;
+
+import com.nht.core_service.dto.response.LeaderboardEntryResponse;
+import com.nht.core_service.dto.response.PageResponse;
+
+public interface LeaderboardService {
+
+	/**
+	 * Adds a completed donation to its campaign's and the platform leaderboard, once per donation.
+	 * Donors are identified by email, falling back to their name when no email was given.
+	 */
+	void recordDonation(String donationId, String campaignId, String donorName, String donorEmail, BigDecimal amount);
+
+	PageResponse<LeaderboardEntryResponse> getCampaignLeaderboard(String campaignId, int page, int size);
+
+	PageResponse<LeaderboardEntryResponse> getPlatformLeaderboard(int page, int size);
+
+	/**
+	 * Rebuilds every leaderboard from the donation table and returns the number of donations read.
+	 */
+	long rebuild();
+}
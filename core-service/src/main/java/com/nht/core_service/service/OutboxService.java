@@ -0,0 +1,18 @@
+package com.nht.core_service.service;
+
+public interface OutboxService {
+
+	// Stores a Kafka message in the Postgres outbox; must join the caller's JPA transaction
+	void append(String topic, String key, Object event);
+
+	// Stores a Kafka message in the MongoDB outbox, right after the Mongo write it belongs to
+	void appendMongo(String topic, String key, Object event);
+
+	// Publishes one batch of each outbox and returns how many messages were sent
+	int relayPostgres();
+
+	int relayMongo();
+
+	// Deletes published Postgres outbox rows past retention (Mongo uses a TTL index)
+	int purgePostgres();
+}
@@ -0,0 +1,15 @@
+package com.nht.core_service.service;
+
+import com.nht.core_service.dto.request.PaymentWebhookRequest;
+
+public interface PaymentWebhookService {
+
+	// Appends the webhook to the journal; processing happens in drainJournal
+	void enqueue(PaymentWebhookRequest request);
+
+	// Processes one batch of pending webhooks and returns how many were taken
+	int drainJournal();
+
+	// Deletes finished journal rows older than the retention window
+	int purgeJournal();
+}
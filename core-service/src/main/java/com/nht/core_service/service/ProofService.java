@@ -1,10 +1,12 @@
 package com.nht.core_service.service;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.domain.Page;
 
 import com.nht.core_service.dto.request.HybridReasoningCallbackRequest;
+import com.nht.core_service.dto.response.HybridCallbackItemResponse;
 import com.nht.core_service.dto.response.ProofResponse;
 import com.nht.core_service.enums.AiStatus;
 import com.nht.core_service.kafka.event.ProofVerificationResultEvent;
@@ -20,8 +22,15 @@ public interface ProofService {
 
 	void updateProofFromAiResult(ProofVerificationResultEvent event);
 
+	// One lookup and one bulk write for a whole poll of AI results, then WebSocket pushes;
+	// returns the IDs of proofs that do not exist (yet), whose results were not applied
+	Set<String> updateProofsFromAiResults(List<ProofVerificationResultEvent> events);
+
 	void updateProofFromHybridResult(HybridReasoningCallbackRequest request);
 
+	// Whole batch in one lookup and one bulk write; one result per request item, in order
+	List<HybridCallbackItemResponse> updateProofsFromHybridResults(List<HybridReasoningCallbackRequest> requests);
+
 	// Admin: paginated proofs with optional aiStatus filter
 	Page<ProofResponse> getProofsForAdmin(AiStatus aiStatus, int page, int size);
 
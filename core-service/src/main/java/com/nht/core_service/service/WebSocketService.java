@@ -16,5 +16,10 @@ public interface WebSocketService {
 
     void sendCampaignStats(CampaignStatsMessage statsMessage);
 
+    /**
+     * Sends the latest pending stats message of every campaign and returns how many were sent.
+     */
+    int flushCampaignStats();
+
     void sendLiveDonationUpdate(LiveDonationResponse donation);
 }
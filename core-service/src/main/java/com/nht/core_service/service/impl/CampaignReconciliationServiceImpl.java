@@ -0,0 +1,280 @@
+package com.nht.core_service.service.impl;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nht.core_service.cache.CampaignDetailCache;
+import com.nht.core_service.document.Campaign;
+import com.nht.core_service.document.WithdrawalRequest;
+import com.nht.core_service.dto.response.CampaignReconciliationReport;
+import com.nht.core_service.dto.response.CampaignReconciliationReport.Drift;
+import com.nht.core_service.enums.PaymentStatus;
+import com.nht.core_service.enums.WithdrawalStatus;
+import com.nht.core_service.service.CampaignReconciliationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rebuilds what Campaign.currentAmount and usedAmount should be and repairs drift.
+ * <p>
+ * COMPLETED donations are streamed from Postgres through a server-side cursor and
+ * summed per campaign in memory; withdrawals whose funds were transferred are summed
+ * the same way from MongoDB. Campaigns are then streamed from MongoDB and compared in
+ * parallel chunks, each chunk repaired with one unordered bulk write.
+ * <p>
+ * Repairs are compare-and-set on the values that were read, and campaigns with a
+ * donation or transfer inside the settle window are only reported, since their
+ * side effects may still be on the way.
+ * <p>
+ * Metrics: {@code campaign.reconciliation}, {@code campaign.reconciliation.drifted}
+ * and {@code campaign.reconciliation.repaired}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignReconciliationServiceImpl implements CampaignReconciliationService {
+
+	private static final int FETCH_SIZE = 1000;
+	private static final int MAX_REPORTED_DRIFTS = 100;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PlatformTransactionManager transactionManager;
+	private final MongoTemplate mongoTemplate;
+	private final RedisTemplate<String, Long> redisTemplate;
+	private final CampaignDetailCache campaignDetailCache;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${campaign.reconciliation.chunk-size:500}")
+	@NonFinal
+	private int chunkSize;
+
+	@Value("${campaign.reconciliation.parallelism:4}")
+	@NonFinal
+	private int parallelism;
+
+	@Value("${campaign.reconciliation.settle-seconds:300}")
+	@NonFinal
+	private long settleSeconds;
+
+	@Override
+	public CampaignReconciliationReport reconcile(boolean dryRun) {
+		long startNanos = System.nanoTime();
+		Instant settleCutoff = Instant.now().minusSeconds(settleSeconds);
+
+		Map<String, BigDecimal> donated = new HashMap<>();
+		// Only the cursor needs a transaction; Mongo streaming and bulk writes run without holding a connection
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		long donations = readOnly.execute(status -> sumCompletedDonations(donated));
+		Set<String> unsettled = new HashSet<>(jdbcTemplate.queryForList(
+				"SELECT campaign_id FROM campaign_donation_stats WHERE last_donation_at > ?",
+				String.class,
+				Timestamp.valueOf(LocalDateTime.now().minusSeconds(settleSeconds))));
+
+		Map<String, BigDecimal> transferred = new HashMap<>();
+		Set<String> usedUnknown = new HashSet<>();
+		long withdrawals = sumTransferredWithdrawals(transferred, usedUnknown, unsettled, settleCutoff);
+
+		Query query = new Query();
+		query.fields().include("currentAmount").include("usedAmount");
+		query.cursorBatchSize(chunkSize);
+
+		List<Future<ChunkResult>> futures = new ArrayList<>();
+		try (ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism));
+				Stream<Campaign> campaigns = mongoTemplate.stream(query, Campaign.class)) {
+			List<Campaign> chunk = new ArrayList<>(chunkSize);
+			for (Campaign campaign : (Iterable<Campaign>) campaigns::iterator) {
+				chunk.add(campaign);
+				if (chunk.size() == chunkSize) {
+					List<Campaign> batch = chunk;
+					futures.add(pool.submit(() -> reconcileChunk(batch, donated, transferred, usedUnknown, unsettled, dryRun)));
+					chunk = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!chunk.isEmpty()) {
+				List<Campaign> batch = chunk;
+				futures.add(pool.submit(() -> reconcileChunk(batch, donated, transferred, usedUnknown, unsettled, dryRun)));
+			}
+		}
+
+		ChunkResult total = new ChunkResult();
+		for (Future<ChunkResult> future : futures) {
+			try {
+				total.add(future.get());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while reconciling campaigns", e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("Campaign reconciliation chunk failed", e.getCause());
+			}
+		}
+
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+		meterRegistry.timer("campaign.reconciliation", "dryRun", String.valueOf(dryRun)).record(elapsed);
+		meterRegistry.counter("campaign.reconciliation.drifted").increment(total.drifted);
+		meterRegistry.counter("campaign.reconciliation.repaired").increment(total.repaired);
+		log.info("Campaign reconciliation (dryRun={}): {} campaigns, {} drifted, {} repaired, {} skipped in {} ms",
+				dryRun, total.checked, total.drifted, total.repaired, total.skipped, elapsed.toMillis());
+
+		return new CampaignReconciliationReport(
+				dryRun, donations, withdrawals, total.checked, total.drifted, total.repaired, total.skipped,
+				elapsed.toMillis(), List.copyOf(total.drifts));
+	}
+
+	// The PostgreSQL driver only streams inside a transaction with a fetch size set
+	private long sumCompletedDonations(Map<String, BigDecimal> donated) {
+		long[] rows = {0};
+		jdbcTemplate.query(
+				con -> {
+					PreparedStatement ps = con.prepareStatement(
+							"SELECT campaign_id, amount FROM donation WHERE payment_status = ?");
+					ps.setFetchSize(FETCH_SIZE);
+					ps.setString(1, PaymentStatus.COMPLETED.name());
+					return ps;
+				},
+				(RowCallbackHandler) rs -> {
+					donated.merge(rs.getString(1), rs.getBigDecimal(2), BigDecimal::add);
+					rows[0]++;
+				});
+		return rows[0];
+	}
+
+	/**
+	 * Sums withdrawals whose transfer was applied. Withdrawals from before the transfer
+	 * marker existed leave their campaign's usedAmount unknown, except COMPLETED ones,
+	 * which were transferred before their proof was approved.
+	 */
+	private long sumTransferredWithdrawals(Map<String, BigDecimal> transferred, Set<String> usedUnknown,
+			Set<String> unsettled, Instant settleCutoff) {
+		Query query = new Query(Criteria.where("status").in(WithdrawalStatus.WAITING_PROOF, WithdrawalStatus.COMPLETED));
+		query.fields().include("campaignId").include("amount").include("status").include("fundsTransferredAt");
+		query.cursorBatchSize(FETCH_SIZE);
+
+		long rows = 0;
+		try (Stream<WithdrawalRequest> withdrawals = mongoTemplate.stream(query, WithdrawalRequest.class)) {
+			for (WithdrawalRequest withdrawal : (Iterable<WithdrawalRequest>) withdrawals::iterator) {
+				rows++;
+				Instant transferredAt = withdrawal.getFundsTransferredAt();
+				if (transferredAt == null && withdrawal.getStatus() != WithdrawalStatus.COMPLETED) {
+					usedUnknown.add(withdrawal.getCampaignId());
+					continue;
+				}
+				if (transferredAt != null && transferredAt.isAfter(settleCutoff)) {
+					unsettled.add(withdrawal.getCampaignId());
+				}
+				transferred.merge(withdrawal.getCampaignId(), nonNull(withdrawal.getAmount()), BigDecimal::add);
+			}
+		}
+		return rows;
+	}
+
+	private ChunkResult reconcileChunk(List<Campaign> campaigns, Map<String, BigDecimal> donated,
+			Map<String, BigDecimal> transferred, Set<String> usedUnknown, Set<String> unsettled, boolean dryRun) {
+		ChunkResult result = new ChunkResult();
+		BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+		List<String> repairing = new ArrayList<>();
+
+		for (Campaign campaign : campaigns) {
+			result.checked++;
+			String id = campaign.getId();
+			BigDecimal expectedCurrent = donated.getOrDefault(id, BigDecimal.ZERO);
+			BigDecimal expectedUsed = transferred.getOrDefault(id, BigDecimal.ZERO);
+			boolean currentDrift = expectedCurrent.compareTo(nonNull(campaign.getCurrentAmount())) != 0;
+			boolean usedDrift = !usedUnknown.contains(id)
+					&& expectedUsed.compareTo(nonNull(campaign.getUsedAmount())) != 0;
+			if (!currentDrift && !usedDrift) {
+				continue;
+			}
+
+			result.drifted++;
+			boolean settled = !unsettled.contains(id);
+			if (!settled) {
+				result.skipped++;
+			}
+			boolean repair = !dryRun && settled;
+			if (result.drifts.size() < MAX_REPORTED_DRIFTS) {
+				result.drifts.add(new Drift(id, expectedCurrent, campaign.getCurrentAmount(),
+						usedUnknown.contains(id) ? null : expectedUsed, campaign.getUsedAmount(), repair));
+			}
+			if (!repair) {
+				continue;
+			}
+
+			// Compare-and-set: a concurrent $inc makes this a no-op until the next run
+			Criteria criteria = Criteria.where("id").is(id);
+			Update update = new Update();
+			if (currentDrift) {
+				criteria.and("currentAmount").is(campaign.getCurrentAmount());
+				update.set("currentAmount", expectedCurrent);
+			}
+			if (usedDrift) {
+				criteria.and("usedAmount").is(campaign.getUsedAmount());
+				update.set("usedAmount", expectedUsed);
+			}
+			bulkOps.updateOne(new Query(criteria), update);
+			repairing.add(id);
+		}
+
+		if (!repairing.isEmpty()) {
+			result.repaired = bulkOps.execute().getModifiedCount();
+			for (String id : repairing) {
+				redisTemplate.delete("campaign:" + id + ":amount");
+				campaignDetailCache.evict(id);
+			}
+		}
+		return result;
+	}
+
+	private static BigDecimal nonNull(BigDecimal value) {
+		return value != null ? value : BigDecimal.ZERO;
+	}
+
+	private static final class ChunkResult {
+		long checked;
+		long drifted;
+		long repaired;
+		long skipped;
+		final List<Drift> drifts = new ArrayList<>();
+
+		void add(ChunkResult other) {
+			checked += other.checked;
+			drifted += other.drifted;
+			repaired += other.repaired;
+			skipped += other.skipped;
+			other.drifts.stream()
+					.limit(Math.max(0, MAX_REPORTED_DRIFTS - drifts.size()))
+					.forEach(drifts::add);
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package com.nht.core_service.service.impl;
 
+import com.nht.core_service.cache.CampaignDetailCache;
+import com.nht.core_service.cache.CampaignSearchCache;
 import com.nht.core_service.client.BlockchainServiceClient;
 import com.nht.core_service.client.IdentityServiceClient;
 import com.nht.core_service.client.dto.CreateWalletRequest;
@@ -8,24 +10,35 @@ import com.nht.core_service.client.dto.ValidKycResponse;
 import com.nht.core_service.client.dto.WalletResponse;
 import com.nht.core_service.dto.response.ApiResponse;
 import com.nht.core_service.dto.response.CampaignPageResponse;
+import com.nht.core_service.dto.response.CursorPageResponse;
 import com.nht.core_service.dto.response.PageResponse;
 import com.nht.core_service.kafka.producer.ContractEventProducer;
+import com.nht.core_service.utils.ExcerptUtils;
 import com.nht.core_service.utils.JwtUtils;
+import com.nht.core_service.utils.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.nht.core_service.document.Campaign;
 import com.nht.core_service.dto.request.CreateCampaignRequest;
 import com.nht.core_service.dto.response.CampaignResponse;
+import com.nht.core_service.entity.CampaignDonationStats;
 import com.nht.core_service.enums.CampaignStatus;
 import com.nht.core_service.exception.AppException;
 import com.nht.core_service.exception.ErrorCode;
+import com.nht.core_service.repository.jpa.CampaignDonationStatsRepository;
 import com.nht.core_service.repository.mongodb.CampaignRepository;
 import com.nht.core_service.service.CampaignService;
+import com.nht.core_service.service.CampaignViewService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,7 +46,9 @@ import lombok.extern.slf4j.Slf4j;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -44,6 +59,15 @@ public class CampaignServiceImpl implements CampaignService {
 	private final BlockchainServiceClient blockchainServiceClient;
 	private final IdentityServiceClient identityServiceClient;
 	private final ContractEventProducer contractEventProducer;
+	private final CampaignDetailCache campaignDetailCache;
+	private final MongoTemplate mongoTemplate;
+	private final CampaignViewService campaignViewService;
+	private final CampaignSearchCache campaignSearchCache;
+	private final CampaignDonationStatsRepository campaignDonationStatsRepository;
+
+	private static final int MAX_CURSOR_PAGE_SIZE = 100;
+	private static final int MAX_SEARCH_PAGE_SIZE = 50;
+	private static final int MAX_SEARCH_QUERY_LENGTH = 100;
 
 	@Override
 	@Transactional
@@ -61,6 +85,7 @@ public class CampaignServiceImpl implements CampaignService {
 		Campaign campaign = Campaign.builder()
 				.title(request.title())
 				.content(request.content())
+				.excerpt(ExcerptUtils.excerptOf(request.content()))
 				.targetAmount(request.targetAmount())
 				.currentAmount(BigDecimal.ZERO)
 				.images(request.images())
@@ -190,6 +215,22 @@ public class CampaignServiceImpl implements CampaignService {
 
 	@Override
 	public CampaignResponse getCampaignById(String id) {
+		return campaignDetailCache.get(id, () -> loadCampaignResponse(id));
+	}
+
+	@Override
+	public CampaignResponse getCampaignById(String id, String viewerId) {
+		CampaignResponse response = getCampaignById(id);
+		// In-memory only; flushed to Redis/MongoDB by ViewCounterFlushJob
+		campaignViewService.recordView(id, viewerId);
+		return response;
+	}
+
+	/**
+	 * Builds the campaign detail from MongoDB and the blockchain wallet balance.
+	 * Only called on a cache miss in both the near cache and Redis.
+	 */
+	private CampaignResponse loadCampaignResponse(String id) {
 		Campaign campaign = campaignRepository.findById(id)
 				.orElseThrow(() -> new AppException(ErrorCode.CAMPAIGN_NOT_FOUND));
 
@@ -204,6 +245,10 @@ public class CampaignServiceImpl implements CampaignService {
 			log.warn("Failed to get wallet balance for campaign: {}", id, e);
 		}
 
+		// Primary-key read of the running totals; no aggregate over the donation table
+		CampaignDonationStats stats = campaignDonationStatsRepository.findById(id)
+				.orElseGet(() -> new CampaignDonationStats(id, 0, BigDecimal.ZERO, 0, null));
+
 		return new CampaignResponse(
 				campaign.getId(),
 				campaign.getTitle(),
@@ -220,14 +265,17 @@ public class CampaignServiceImpl implements CampaignService {
 				campaign.getHasUsedQuickWithdrawal(),
 				campaign.getLikeCount(),
 				campaign.getViewCount(),
-				campaign.getCommentCount());
+				campaign.getCommentCount(),
+				stats.getDonationCount(),
+				stats.getUniqueDonors(),
+				stats.getLastDonationAt());
 	}
 
 	@Override
 	public PageResponse<CampaignPageResponse> getCampaigns(int size, int page) {
 		Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
 		Pageable pageable = PageRequest.of(page - 1, size, sort);
-		Page<Campaign> campaigns = campaignRepository.findAll(pageable);
+		Page<Campaign> campaigns = campaignRepository.findAllForList(pageable);
 		List<CampaignPageResponse> campaignResponses = campaigns.getContent().stream()
 				.map(this::toCampaignResponse).toList();
 		return new PageResponse<>(page, campaigns.getTotalPages(), pageable.getPageSize(),
@@ -239,13 +287,112 @@ public class CampaignServiceImpl implements CampaignService {
 		String userId = JwtUtils.getUserIdFromToken();
 		Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
 		Pageable pageable = PageRequest.of(page - 1, size, sort);
-		Page<Campaign> campaigns = campaignRepository.findByOwnerId(userId, pageable);
+		Page<Campaign> campaigns = campaignRepository.findByOwnerIdForList(userId, pageable);
 		List<CampaignPageResponse> campaignResponses = campaigns.getContent().stream()
 				.map(this::toCampaignResponse).toList();
 		return new PageResponse<>(page, campaigns.getTotalPages(), pageable.getPageSize(),
 				campaigns.getTotalElements(), campaignResponses);
 	}
 
+	@Override
+	public CursorPageResponse<CampaignPageResponse> getCampaignsByCursor(String cursor, int size, boolean includeTotal) {
+		return findCampaignsByCursor(null, cursor, size, includeTotal);
+	}
+
+	@Override
+	public CursorPageResponse<CampaignPageResponse> getMyCampaignsByCursor(String cursor, int size,
+			boolean includeTotal) {
+		String userId = JwtUtils.getUserIdFromToken();
+		return findCampaignsByCursor(userId, cursor, size, includeTotal);
+	}
+
+	/**
+	 * Seeks past the cursor on (createdAt DESC, _id DESC) instead of skipping,
+	 * so every page costs the same regardless of depth. One extra row is
+	 * fetched to know whether a next page exists.
+	 */
+	private CursorPageResponse<CampaignPageResponse> findCampaignsByCursor(String ownerId, String cursor, int size,
+			boolean includeTotal) {
+		int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+		KeysetCursor after = KeysetCursor.decode(cursor);
+
+		List<Criteria> filters = new ArrayList<>();
+		if (ownerId != null) {
+			filters.add(Criteria.where("ownerId").is(ownerId));
+		}
+
+		Long totalElements = null;
+		if (includeTotal) {
+			totalElements = mongoTemplate.count(toQuery(filters), Campaign.class);
+		}
+
+		if (after != null) {
+			filters.add(new Criteria().orOperator(
+					Criteria.where("createdAt").lt(after.createdAt()),
+					Criteria.where("createdAt").is(after.createdAt()).and("id").lt(after.id())));
+		}
+
+		Query query = toQuery(filters)
+				.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+				.limit(pageSize + 1);
+		query.fields().exclude(CampaignRepository.LIST_EXCLUDED_FIELDS);
+		List<Campaign> campaigns = mongoTemplate.find(query, Campaign.class);
+
+		boolean hasNext = campaigns.size() > pageSize;
+		String nextCursor = null;
+		if (hasNext) {
+			campaigns = campaigns.subList(0, pageSize);
+			Campaign last = campaigns.getLast();
+			nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+
+		List<CampaignPageResponse> data = campaigns.stream().map(this::toCampaignResponse).toList();
+		return new CursorPageResponse<>(pageSize, hasNext, nextCursor, totalElements, data);
+	}
+
+	@Override
+	public List<CampaignPageResponse> searchCampaigns(String q, CampaignStatus status, String ownerId, int page,
+			int size) {
+		String normalized = q == null ? "" : q.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+		if (normalized.isEmpty() || normalized.length() > MAX_SEARCH_QUERY_LENGTH) {
+			throw new AppException(ErrorCode.INVALID_SEARCH_QUERY);
+		}
+		int pageNumber = Math.max(1, page);
+		int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+
+		CampaignSearchCache.SearchKey key =
+				new CampaignSearchCache.SearchKey(normalized, status, ownerId, pageNumber, pageSize);
+		return campaignSearchCache.get(key, () -> findCampaignsByText(key));
+	}
+
+	/**
+	 * $text over the weighted (title, description, content) index, ranked by textScore.
+	 * Status and owner are plain equality filters applied in the same query.
+	 */
+	private List<CampaignPageResponse> findCampaignsByText(CampaignSearchCache.SearchKey key) {
+		Query query = TextQuery.queryText(TextCriteria.forLanguage("none").matching(key.query()))
+				.sortByScore()
+				.skip((long) (key.page() - 1) * key.size())
+				.limit(key.size());
+		if (key.status() != null) {
+			query.addCriteria(Criteria.where("status").is(key.status()));
+		}
+		if (key.ownerId() != null && !key.ownerId().isBlank()) {
+			query.addCriteria(Criteria.where("ownerId").is(key.ownerId()));
+		}
+		query.fields().exclude(CampaignRepository.LIST_EXCLUDED_FIELDS);
+
+		return mongoTemplate.find(query, Campaign.class).stream().map(this::toCampaignResponse).toList();
+	}
+
+	private Query toQuery(List<Criteria> filters) {
+		Query query = new Query();
+		if (!filters.isEmpty()) {
+			query.addCriteria(new Criteria().andOperator(filters));
+		}
+		return query;
+	}
+
 	@Override
 	@Transactional
 	public void closeCampaign(String id) {
@@ -262,6 +409,7 @@ public class CampaignServiceImpl implements CampaignService {
 		// Update campaign status
 		campaign.setStatus(CampaignStatus.CLOSED);
 		campaignRepository.save(campaign);
+		campaignDetailCache.evict(id);
 
 		// Freeze the wallet in blockchain-service
 		try {
@@ -278,17 +426,21 @@ public class CampaignServiceImpl implements CampaignService {
 			log.error("Failed to freeze wallet for campaign: {}, rolling back status to {}", id, previousStatus, e);
 			campaign.setStatus(previousStatus);
 			campaignRepository.save(campaign);
+			campaignDetailCache.evict(id);
 			throw new AppException(ErrorCode.CAMPAIGN_CLOSE_FAILED);
 		}
 
 		log.info("Campaign closed: {}", id);
 	}
 
+	/**
+	 * Maps a list-projected campaign; {@code content} is not loaded, so the card carries the excerpt.
+	 */
 	private CampaignPageResponse toCampaignResponse(Campaign campaign) {
 		return new CampaignPageResponse(
 				campaign.getId(),
 				campaign.getTitle(),
-				campaign.getContent(),
+				campaign.getExcerpt(),
 				campaign.getTargetAmount(),
 				campaign.getUsedAmount(),
 				campaign.getCurrentAmount(),
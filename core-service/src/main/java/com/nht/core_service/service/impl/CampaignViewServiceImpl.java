@@ -0,0 +1,145 @@
+package com.nht.core_service.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.nht.core_service.document.Campaign;
+import com.nht.core_service.service.CampaignViewService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts campaign views without a synchronous write on the detail read path.
+ * <p>
+ * Raw views go to a per-campaign {@link LongAdder}; viewer IDs are buffered in
+ * memory and PFADDed into {@code campaign:{id}:viewers} on flush. The HyperLogLog
+ * is shared by all nodes, so {@code viewCount} is set from PFCOUNT with {@code $max}
+ * and {@code rawViewCount} is incremented by this node's share.
+ * <p>
+ * Metrics: {@code campaign.views.recorded}, {@code campaign.views.viewers.dropped}
+ * (viewers over the per-campaign buffer cap) and {@code campaign.views.pending.campaigns}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CampaignViewServiceImpl implements CampaignViewService {
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final MongoTemplate mongoTemplate;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${campaign.views.max-pending-viewers-per-campaign:10000}")
+	private int maxPendingViewersPerCampaign;
+
+	private final Map<String, LongAdder> rawViews = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> pendingViewers = new ConcurrentHashMap<>();
+	// Idle adders removed by the previous flush; a view that looked one up just before the
+	// removal still increments it, so they are drained once more before being dropped
+	private final Queue<Map.Entry<String, LongAdder>> retiredViews = new ConcurrentLinkedQueue<>();
+
+	private Counter viewsRecorded;
+	private Counter viewersDropped;
+
+	@PostConstruct
+	void init() {
+		viewsRecorded = meterRegistry.counter("campaign.views.recorded");
+		viewersDropped = meterRegistry.counter("campaign.views.viewers.dropped");
+		meterRegistry.gaugeMapSize("campaign.views.pending.campaigns", List.of(), rawViews);
+	}
+
+	@Override
+	public void recordView(String campaignId, String viewerId) {
+		rawViews.computeIfAbsent(campaignId, id -> new LongAdder()).increment();
+		Set<String> viewers = pendingViewers.computeIfAbsent(campaignId, id -> ConcurrentHashMap.newKeySet());
+		// Bound memory between flushes; the HLL only needs each viewer once anyway
+		if (viewers.size() < maxPendingViewersPerCampaign) {
+			viewers.add(viewerId);
+		} else if (!viewers.contains(viewerId)) {
+			viewersDropped.increment();
+		}
+		viewsRecorded.increment();
+	}
+
+	@Override
+	public void flushViews() {
+		Map<String, Long> drainedViews = new HashMap<>();
+		for (int i = retiredViews.size(); i > 0; i--) {
+			Map.Entry<String, LongAdder> retired = retiredViews.poll();
+			long views = retired.getValue().sumThenReset();
+			if (views > 0) {
+				drainedViews.merge(retired.getKey(), views, Long::sum);
+			}
+		}
+		for (Map.Entry<String, LongAdder> entry : rawViews.entrySet()) {
+			long views = entry.getValue().sumThenReset();
+			if (views > 0) {
+				drainedViews.merge(entry.getKey(), views, Long::sum);
+			} else if (rawViews.remove(entry.getKey(), entry.getValue())) {
+				// Idle since the last flush; drop it so the map only holds active campaigns
+				retiredViews.add(Map.entry(entry.getKey(), entry.getValue()));
+			}
+		}
+		if (drainedViews.isEmpty()) {
+			return;
+		}
+
+		meterRegistry.timer("campaign.views.flush").record(() -> {
+			BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+			for (Map.Entry<String, Long> entry : drainedViews.entrySet()) {
+				String campaignId = entry.getKey();
+				Update update = new Update().inc("rawViewCount", entry.getValue());
+				Long uniqueViewers = mergeViewers(campaignId);
+				if (uniqueViewers != null) {
+					update.max("viewCount", uniqueViewers);
+				}
+				bulkOps.updateOne(new Query(Criteria.where("id").is(campaignId)), update);
+			}
+			try {
+				bulkOps.execute();
+			} catch (RuntimeException e) {
+				// Put the raw counts back so the next flush retries them
+				drainedViews.forEach((id, views) -> rawViews.computeIfAbsent(id, key -> new LongAdder()).add(views));
+				throw e;
+			}
+		});
+		log.debug("Flushed views for {} campaigns", drainedViews.size());
+	}
+
+	/**
+	 * PFADDs this node's buffered viewers and returns the cluster-wide unique count,
+	 * or null if Redis is unavailable (raw views are still flushed).
+	 */
+	private Long mergeViewers(String campaignId) {
+		Set<String> viewers = pendingViewers.remove(campaignId);
+		String key = "campaign:" + campaignId + ":viewers";
+		try {
+			if (viewers != null && !viewers.isEmpty()) {
+				stringRedisTemplate.opsForHyperLogLog().add(key, viewers.toArray(String[]::new));
+			}
+			return stringRedisTemplate.opsForHyperLogLog().size(key);
+		} catch (Exception e) {
+			log.warn("Failed to merge unique viewers into Redis for campaign={}", campaignId, e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,206 @@
+package com.nht.core_service.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.nht.core_service.document.Campaign;
+import com.nht.core_service.document.Comment;
+import com.nht.core_service.dto.request.CreateCommentRequest;
+import com.nht.core_service.dto.response.CommentResponse;
+import com.nht.core_service.dto.response.CursorPageResponse;
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+import com.nht.core_service.repository.mongodb.CommentRepository;
+import com.nht.core_service.service.CommentService;
+import com.nht.core_service.utils.JwtUtils;
+import com.nht.core_service.utils.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CommentServiceImpl implements CommentService {
+
+	private static final int MAX_PAGE_SIZE = 50;
+	// The cached head covers any first-page request up to this size
+	private static final int CACHED_FIRST_PAGE_SIZE = 20;
+	private static final TypeReference<List<CommentResponse>> COMMENT_LIST_TYPE = new TypeReference<>() {};
+
+	// Cache the page only if no comment was written since the reader took the version
+	private static final RedisScript<Long> FILL_FIRST_PAGE_SCRIPT = new DefaultRedisScript<>("""
+			if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then
+				return 0
+			end
+			redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+			return 1
+			""", Long.class);
+
+	// Bump the version before dropping the page, so a fill that read older data can no longer land
+	private static final RedisScript<Long> EVICT_FIRST_PAGE_SCRIPT = new DefaultRedisScript<>("""
+			redis.call('INCR', KEYS[2])
+			redis.call('DEL', KEYS[1])
+			return 1
+			""", Long.class);
+
+	private final CommentRepository commentRepository;
+	private final MongoTemplate mongoTemplate;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ObjectMapper objectMapper;
+
+	@Value("${campaign.comments.first-page-ttl-seconds:60}")
+	private long firstPageTtlSeconds;
+
+	@Override
+	public CommentResponse createComment(String campaignId, CreateCommentRequest request) {
+		String userId = JwtUtils.getUserIdFromToken();
+
+		// Atomic $inc doubles as the campaign existence check
+		UpdateResult result = mongoTemplate.updateFirst(
+				new Query(Criteria.where("id").is(campaignId)),
+				new Update().inc("commentCount", 1),
+				Campaign.class);
+		if (result.getMatchedCount() == 0) {
+			throw new AppException(ErrorCode.CAMPAIGN_NOT_FOUND);
+		}
+
+		Comment comment = Comment.builder()
+				.campaignId(campaignId)
+				.userId(userId)
+				.content(request.content().strip())
+				.build();
+
+		Comment saved;
+		try {
+			saved = commentRepository.save(comment);
+		} catch (RuntimeException e) {
+			mongoTemplate.updateFirst(
+					new Query(Criteria.where("id").is(campaignId)),
+					new Update().inc("commentCount", -1),
+					Campaign.class);
+			throw e;
+		}
+		evictFirstPage(campaignId);
+		log.info("Comment {} created on campaign {} by user {}", saved.getId(), campaignId, userId);
+
+		return toCommentResponse(saved);
+	}
+
+	@Override
+	public CursorPageResponse<CommentResponse> getComments(String campaignId, String cursor, int size) {
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		KeysetCursor after = KeysetCursor.decode(cursor);
+
+		List<CommentResponse> rows;
+		if (after == null && pageSize <= CACHED_FIRST_PAGE_SIZE) {
+			List<CommentResponse> head = getCachedFirstPage(campaignId);
+			rows = head.subList(0, Math.min(head.size(), pageSize + 1));
+		} else {
+			rows = findComments(campaignId, after, pageSize + 1);
+		}
+
+		boolean hasNext = rows.size() > pageSize;
+		String nextCursor = null;
+		if (hasNext) {
+			rows = rows.subList(0, pageSize);
+			CommentResponse last = rows.getLast();
+			nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+		}
+		return new CursorPageResponse<>(pageSize, hasNext, nextCursor, null, List.copyOf(rows));
+	}
+
+	/**
+	 * Seeks on {campaignId, createdAt DESC, _id DESC}, the compound index on comments.
+	 */
+	private List<CommentResponse> findComments(String campaignId, KeysetCursor after, int limit) {
+		Criteria criteria = Criteria.where("campaignId").is(campaignId);
+		if (after != null) {
+			criteria = criteria.orOperator(
+					Criteria.where("createdAt").lt(after.createdAt()),
+					Criteria.where("createdAt").is(after.createdAt()).and("id").lt(after.id()));
+		}
+		Query query = new Query(criteria)
+				.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")))
+				.limit(limit);
+		return mongoTemplate.find(query, Comment.class).stream().map(this::toCommentResponse).toList();
+	}
+
+	private List<CommentResponse> getCachedFirstPage(String campaignId) {
+		String key = firstPageKey(campaignId);
+		try {
+			String json = stringRedisTemplate.opsForValue().get(key);
+			if (json != null) {
+				return objectMapper.readValue(json, COMMENT_LIST_TYPE);
+			}
+		} catch (Exception e) {
+			log.warn("Failed to read cached first comment page for campaign={}", campaignId, e);
+		}
+
+		// Taken before the query: a comment saved after this point bumps it and voids the fill below
+		String version = null;
+		try {
+			version = Objects.requireNonNullElse(
+					stringRedisTemplate.opsForValue().get(firstPageVersionKey(campaignId)), "0");
+		} catch (Exception e) {
+			log.warn("Failed to read first comment page version for campaign={}", campaignId, e);
+		}
+
+		// One extra row so sliced pages still know whether there is a next page
+		List<CommentResponse> head = findComments(campaignId, null, CACHED_FIRST_PAGE_SIZE + 1);
+		if (version == null) {
+			return head;
+		}
+		try {
+			stringRedisTemplate.execute(
+					FILL_FIRST_PAGE_SCRIPT,
+					List.of(key, firstPageVersionKey(campaignId)),
+					version, objectMapper.writeValueAsString(head), String.valueOf(firstPageTtlSeconds));
+		} catch (Exception e) {
+			log.warn("Failed to cache first comment page for campaign={}", campaignId, e);
+		}
+		return head;
+	}
+
+	private void evictFirstPage(String campaignId) {
+		try {
+			stringRedisTemplate.execute(
+					EVICT_FIRST_PAGE_SCRIPT, List.of(firstPageKey(campaignId), firstPageVersionKey(campaignId)));
+		} catch (Exception e) {
+			log.error("Failed to evict cached first comment page for campaign={}", campaignId, e);
+		}
+	}
+
+	private String firstPageKey(String campaignId) {
+		return "campaign:" + campaignId + ":comments:first";
+	}
+
+	// No TTL: an expired version restarting at 1 could match a fill that read version 1 earlier
+	private String firstPageVersionKey(String campaignId) {
+		return "campaign:" + campaignId + ":comments:version";
+	}
+
+	private CommentResponse toCommentResponse(Comment comment) {
+		return new CommentResponse(
+				comment.getId(),
+				comment.getCampaignId(),
+				comment.getUserId(),
+				comment.getContent(),
+				comment.getCreatedAt());
+	}
+}
@@ -6,40 +6,31 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import lombok.experimental.NonFinal;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.query.Criteria;
-import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.Update;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.nht.core_service.config.KafkaTopicConfig;
+import com.nht.core_service.cache.LiveDonationFeedCache;
+import com.nht.core_service.cache.PendingPaymentCodeFilter;
 import com.nht.core_service.document.Campaign;
 import com.nht.core_service.document.ProcessEvent;
-import com.nht.core_service.dto.event.DonationEvent;
+import com.nht.core_service.dto.event.DonationCompletedEvent;
 import com.nht.core_service.dto.request.DonationCompleteRequest;
 import com.nht.core_service.dto.request.InitDonationRequest;
 import com.nht.core_service.dto.response.LiveDonationResponse;
-import com.nht.core_service.dto.request.PaymentWebhookRequest;
-import com.nht.core_service.dto.websocket.CampaignActivityMessage;
-import com.nht.core_service.dto.websocket.CampaignStatsMessage;
 import com.nht.core_service.entity.Donation;
 import com.nht.core_service.enums.PaymentStatus;
 import com.nht.core_service.exception.AppException;
 import com.nht.core_service.exception.ErrorCode;
+import com.nht.core_service.repository.jpa.CampaignDonationStatsRepository;
 import com.nht.core_service.repository.jpa.DonationRepository;
 import com.nht.core_service.repository.mongodb.CampaignRepository;
 import com.nht.core_service.repository.mongodb.ProcessEventRepository;
 import com.nht.core_service.service.DonationService;
-import com.nht.core_service.service.WebSocketService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -51,12 +42,12 @@ import vn.payos.type.CheckoutResponseData;
 public class DonationServiceImpl implements DonationService {
 
 	private final DonationRepository donationRepository;
+	private final CampaignDonationStatsRepository campaignDonationStatsRepository;
 	private final CampaignRepository campaignRepository;
-	private final KafkaTemplate<String, Object> kafkaTemplate;
-	private final MongoTemplate mongoTemplate;
-	private final RedisTemplate<String, Long> redisTemplate;
-	private final WebSocketService webSocketService;
 	private final ProcessEventRepository processEventRepository;
+	private final PendingPaymentCodeFilter pendingPaymentCodeFilter;
+	private final LiveDonationFeedCache liveDonationFeedCache;
+	private final ApplicationEventPublisher eventPublisher;
 
 	@Value("${secret-key}")
 	@NonFinal
@@ -90,6 +81,7 @@ public class DonationServiceImpl implements DonationService {
 				.build();
 
 		Donation savedDonation = donationRepository.save(donation);
+		pendingPaymentCodeFilter.add(paymentCode);
 		log.info("Donation initialized: id={}, paymentCode={}", savedDonation.getId(), paymentCode);
 
 		// Generate VietQR URL
@@ -97,49 +89,6 @@ public class DonationServiceImpl implements DonationService {
 		return url;
 	}
 
-	@Override
-	@Transactional
-	public void processPaymentWebhook(PaymentWebhookRequest request) {
-		String content = request.content();
-		// Extract payment code which starts with 'TS' followed by 13 digits and 6
-		// uppercase alphanumeric chars
-		Pattern pattern = Pattern.compile("(TS\\d{13}[A-Z0-9]{6})");
-		Matcher matcher = pattern.matcher(content);
-		if (matcher.find()) {
-			content = matcher.group(1);
-		} else {
-			log.error("Payment code not found in content: {}", content);
-			throw new AppException(ErrorCode.INSUFFICIENT_BALANCE); // Using existing error code as per original logic,
-																	// though INVALID_PAYMENT_CODE might be better
-		}
-		// Find donation by payment code
-		Donation donation = donationRepository
-				.findByPaymentCode(content)
-				.orElseThrow(() -> new AppException(ErrorCode.DONATION_NOT_FOUND));
-
-		// Validate amount
-		if (donation.getAmount().compareTo(request.transferAmount()) != 0) {
-			log.error(
-					"Payment amount mismatch: expected={}, received={}",
-					donation.getAmount(),
-					request.transferAmount());
-			throw new AppException(ErrorCode.INVALID_DONATION_AMOUNT);
-		}
-
-		// Check if already processed
-		if (donation.getPaymentStatus() == PaymentStatus.COMPLETED) {
-			log.warn("Donation already processed: {}", donation.getId());
-			return;
-		}
-
-		// Publish event to Kafka (with donationId as key for tracing)
-		DonationEvent event = new DonationEvent(donation.getId(),
-				donation.getCampaignId(), donation.getAmount(), donation.getDonorFullName(), donation.getContent());
-
-		kafkaTemplate.send(KafkaTopicConfig.DONATION_EVENTS_TOPIC, donation.getId().toString(), event);
-		log.info("Published donation event to Kafka: campaignId={}", donation.getCampaignId());
-	}
-
 	@Override
 	@Transactional
 	public void completeDonation(DonationCompleteRequest request) {
@@ -162,77 +111,19 @@ public class DonationServiceImpl implements DonationService {
 		donationRepository.save(donation);
 
 		// Mark event as processed (within same JPA transaction)
-		processEventRepository.save(new ProcessEvent(request.donationId(), LocalDateTime.now()));
-		log.info("JPA transaction committed: donationId={}", request.donationId());
+		LocalDateTime completedAt = LocalDateTime.now();
+		processEventRepository.save(new ProcessEvent(request.donationId(), completedAt));
 
-		// === Non-transactional side effects (best-effort) ===
-		// Read campaign BEFORE the atomic update to get current state
-		Campaign campaign = campaignRepository.findById(request.campaignId()).orElse(null);
+		// Campaign stats move with the donation status in the same transaction
+		int newDonors = campaignDonationStatsRepository.registerDonor(
+				donation.getCampaignId(), donation.getDonorEmail(), donation.getDonorFullName());
+		campaignDonationStatsRepository.recordDonation(
+				donation.getCampaignId(), donation.getAmount(), newDonors, completedAt);
 
-		// MongoDB: Update currentAmount atomically
-		try {
-			Query query = new Query(Criteria.where("id").is(request.campaignId()));
-			Update update = new Update().inc("currentAmount", request.amount().doubleValue());
-			mongoTemplate.updateFirst(query, update, Campaign.class);
-			log.info("Updated MongoDB campaign currentAmount: campaignId={}", request.campaignId());
-		} catch (Exception e) {
-			log.error("Failed to update MongoDB currentAmount for campaign={}, manual reconciliation needed",
-					request.campaignId(), e);
-		}
-
-		// Redis: Update cache atomically (avoid hasKey+increment race condition)
-		try {
-			String cacheKey = "campaign:" + request.campaignId() + ":amount";
-			// Use increment directly — atomic, and avoids TOCTOU race with hasKey()
-			// If key doesn't exist, Redis creates it with value 0, then increments
-			Long result = redisTemplate.opsForValue().increment(cacheKey, request.amount().longValue());
-			if (result != null && result == request.amount().longValue()) {
-				// Key was just created by this increment (didn't exist before), remove it
-				// to keep cache consistent — we only want to update existing cache entries
-				redisTemplate.delete(cacheKey);
-				log.debug("Redis key didn't exist, deleted auto-created key: {}", cacheKey);
-			} else {
-				log.info("Updated Redis cache atomically: key={}", cacheKey);
-			}
-		} catch (Exception e) {
-			log.error("Failed to update Redis cache for campaign={}", request.campaignId(), e);
-		}
-
-		// WebSocket: Send real-time notifications
-		try {
-			if (campaign != null) {
-				BigDecimal newCurrentAmount = campaign.getCurrentAmount().add(request.amount());
-				Long donationCount = donationRepository.countByCampaignId(request.campaignId());
-
-				CampaignStatsMessage statsMessage = new CampaignStatsMessage(
-						request.campaignId(), newCurrentAmount, donationCount, request.donorName());
-				webSocketService.sendCampaignStats(statsMessage);
-
-				String description = String.format(
-						"%s đã ủng hộ %s VND", request.donorName(), request.amount().longValue());
-				CampaignActivityMessage activityMessage = new CampaignActivityMessage(
-						request.campaignId(), "DONATION", description, Instant.now().toString());
-				webSocketService.sendCampaignActivity(activityMessage);
-
-				log.info("Sent WebSocket notifications for campaign: {}", request.campaignId());
-			}
-		} catch (Exception e) {
-			log.error("Failed to send WebSocket notifications for campaign={}", request.campaignId(), e);
-		}
-
-		// WebSocket: Send live donation feed update for landing page
-		try {
-			String campaignTitle = (campaign != null) ? campaign.getTitle() : "";
-			LiveDonationResponse liveDonation = new LiveDonationResponse(
-					request.donationId(),
-					request.donorName(),
-					campaignTitle,
-					request.amount(),
-					LocalDateTime.now());
-			webSocketService.sendLiveDonationUpdate(liveDonation);
-		} catch (Exception e) {
-			log.error("Failed to send live donation feed update for donationId={}", request.donationId(), e);
-		}
+		// Campaign totals, caches and WebSocket notifications run after commit, off this thread
+		eventPublisher.publishEvent(new DonationCompletedEvent(
+				request.donationId(), request.campaignId(), request.amount(), request.donorName(),
+				donation.getDonorEmail(), Instant.now()));
 
 		log.info("Donation completed successfully: donationId={}, txHash={}",
 				request.donationId(), request.transactionHash());
@@ -240,6 +131,10 @@ public class DonationServiceImpl implements DonationService {
 
 	@Override
 	public List<LiveDonationResponse> getRecentCompletedDonations() {
+		return liveDonationFeedCache.getRecent(this::loadRecentCompletedDonations);
+	}
+
+	private List<LiveDonationResponse> loadRecentCompletedDonations() {
 		List<Donation> donations = donationRepository
 				.findTop10ByPaymentStatusOrderByCreatedAtDesc(PaymentStatus.COMPLETED);
 
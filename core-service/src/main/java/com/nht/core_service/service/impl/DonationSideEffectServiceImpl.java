@@ -0,0 +1,211 @@
+package com.nht.core_service.service.impl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.nht.core_service.cache.CampaignDetailCache;
+import com.nht.core_service.cache.LiveDonationFeedCache;
+import com.nht.core_service.document.Campaign;
+import com.nht.core_service.dto.event.DonationCompletedEvent;
+import com.nht.core_service.dto.response.LiveDonationResponse;
+import com.nht.core_service.dto.websocket.CampaignActivityMessage;
+import com.nht.core_service.dto.websocket.CampaignStatsMessage;
+import com.nht.core_service.entity.CampaignDonationStats;
+import com.nht.core_service.repository.jpa.CampaignDonationStatsRepository;
+import com.nht.core_service.service.DonationSideEffectService;
+import com.nht.core_service.service.LeaderboardService;
+import com.nht.core_service.service.WebSocketService;
+import com.nht.core_service.utils.KeyedSerialExecutor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Everything completeDonation used to do after its write: campaign totals in MongoDB,
+ * the Redis amount cache, and the WebSocket notifications. Runs after commit on
+ * {@code donationSideEffectExecutor}, keyed by campaign, so one campaign's donations
+ * are applied in completion order while other campaigns proceed in parallel.
+ * <p>
+ * The queue is in memory and bounded. When a campaign's lane is full the event is
+ * dropped rather than blocking the committing thread, and a crash loses whatever was
+ * queued. Neither touches Postgres, which already holds the donation and its stats; the
+ * missed currentAmount increment shows up as drift in the campaign reconciliation and is
+ * repaired there, and the caches and feeds catch up on their next rebuild or expiry.
+ * <p>
+ * Metrics: {@code donation.side.effect{step,result=success|retry|failure}},
+ * {@code donation.side.effects.lag} (commit to last step), {@code donation.side.effects.queued}
+ * and {@code donation.side.effects.dropped}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DonationSideEffectServiceImpl implements DonationSideEffectService {
+
+	// Comfortably more than can be in flight for one campaign between retries
+	private static final int RECENT_DONATION_IDS = 50;
+
+	private final KeyedSerialExecutor donationSideEffectExecutor;
+	private final MongoTemplate mongoTemplate;
+	private final RedisTemplate<String, Long> redisTemplate;
+	private final CampaignDonationStatsRepository campaignDonationStatsRepository;
+	private final WebSocketService webSocketService;
+	private final CampaignDetailCache campaignDetailCache;
+	private final LiveDonationFeedCache liveDonationFeedCache;
+	private final LeaderboardService leaderboardService;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${donation.side-effects.max-attempts:3}")
+	@NonFinal
+	private int maxAttempts;
+
+	@Value("${donation.side-effects.initial-backoff-ms:200}")
+	@NonFinal
+	private long initialBackoffMs;
+
+	@Override
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onDonationCompleted(DonationCompletedEvent event) {
+		try {
+			donationSideEffectExecutor.execute(event.campaignId(), () -> apply(event));
+		} catch (RejectedExecutionException e) {
+			meterRegistry.counter("donation.side.effects.dropped").increment();
+			log.error("Dropped side effects of donation={}, campaign={}: {}; run campaign reconciliation to repair",
+					event.donationId(), event.campaignId(), e.getMessage());
+		}
+	}
+
+	@Override
+	public void apply(DonationCompletedEvent event) {
+		Campaign campaign = runStep("campaign-amount", event, () -> incrementCampaignAmount(event));
+
+		if (campaign != null) {
+			runStep("redis-amount", event, () -> {
+				// Only refresh an existing cache entry; absolute value keeps retries idempotent
+				String cacheKey = "campaign:" + event.campaignId() + ":amount";
+				redisTemplate.opsForValue().setIfPresent(cacheKey, campaign.getCurrentAmount().longValue());
+				return Boolean.TRUE;
+			});
+
+			runStep("stats", event, () -> {
+				Long donationCount = campaignDonationStatsRepository.findById(event.campaignId())
+						.map(CampaignDonationStats::getDonationCount)
+						.orElse(0L);
+				webSocketService.sendCampaignStats(new CampaignStatsMessage(
+						event.campaignId(), campaign.getCurrentAmount(), donationCount, event.donorName()));
+				return Boolean.TRUE;
+			});
+		}
+
+		runStep("activity", event, () -> {
+			String description = String.format(
+					"%s đã ủng hộ %s VND", event.donorName(), event.amount().longValue());
+			webSocketService.sendCampaignActivity(new CampaignActivityMessage(
+					event.campaignId(), "DONATION", description, Instant.now().toString()));
+			return Boolean.TRUE;
+		});
+
+		runStep("leaderboard", event, () -> {
+			leaderboardService.recordDonation(
+					event.donationId(), event.campaignId(), event.donorName(), event.donorEmail(), event.amount());
+			return Boolean.TRUE;
+		});
+
+		// Built once so a retried push writes the same entry
+		LiveDonationResponse liveDonation = new LiveDonationResponse(
+				event.donationId(),
+				event.donorName(),
+				campaign != null ? campaign.getTitle() : "",
+				event.amount(),
+				LocalDateTime.ofInstant(event.completedAt(), ZoneId.systemDefault()));
+
+		runStep("live-feed-cache", event, () -> {
+			liveDonationFeedCache.push(liveDonation);
+			return Boolean.TRUE;
+		});
+
+		runStep("live-feed", event, () -> {
+			webSocketService.sendLiveDonationUpdate(liveDonation);
+			return Boolean.TRUE;
+		});
+
+		meterRegistry.timer("donation.side.effects.lag").record(Duration.between(event.completedAt(), Instant.now()));
+	}
+
+	/**
+	 * $inc guarded by the donation ID, returning the updated campaign in the same round trip.
+	 * If the guard does not match the increment was already applied, so the campaign is just read.
+	 */
+	private Campaign incrementCampaignAmount(DonationCompletedEvent event) {
+		Query query = new Query(Criteria.where("id").is(event.campaignId())
+				.and("recentDonationIds").ne(event.donationId()));
+		Update update = new Update()
+				.inc("currentAmount", event.amount().doubleValue())
+				.push("recentDonationIds").slice(-RECENT_DONATION_IDS).each(event.donationId());
+		Campaign updated = mongoTemplate.findAndModify(
+				query, update, FindAndModifyOptions.options().returnNew(true), Campaign.class);
+		if (updated == null) {
+			updated = mongoTemplate.findById(event.campaignId(), Campaign.class);
+			if (updated == null) {
+				log.error("Campaign {} not found for completed donation {}", event.campaignId(), event.donationId());
+				return null;
+			}
+		} else {
+			log.info("Updated MongoDB campaign currentAmount: campaignId={}", event.campaignId());
+		}
+		campaignDetailCache.evict(event.campaignId());
+		if (updated.getCurrentAmount() == null) {
+			updated.setCurrentAmount(BigDecimal.ZERO);
+		}
+		return updated;
+	}
+
+	private <T> T runStep(String step, DonationCompletedEvent event, StepAction<T> action) {
+		long backoffMs = initialBackoffMs;
+		for (int attempt = 1; ; attempt++) {
+			try {
+				T result = action.run();
+				meterRegistry.counter("donation.side.effect", "step", step, "result", "success").increment();
+				return result;
+			} catch (Exception e) {
+				if (attempt >= maxAttempts) {
+					meterRegistry.counter("donation.side.effect", "step", step, "result", "failure").increment();
+					log.error("Donation side effect {} failed for donation={}, campaign={}, manual reconciliation needed",
+							step, event.donationId(), event.campaignId(), e);
+					return null;
+				}
+				meterRegistry.counter("donation.side.effect", "step", step, "result", "retry").increment();
+				log.warn("Donation side effect {} failed for donation={}, attempt {}", step, event.donationId(),
+						attempt, e);
+				try {
+					Thread.sleep(backoffMs);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return null;
+				}
+				backoffMs *= 2;
+			}
+		}
+	}
+
+	@FunctionalInterface
+	private interface StepAction<T> {
+		T run() throws Exception;
+	}
+}
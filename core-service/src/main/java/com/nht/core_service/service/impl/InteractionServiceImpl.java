@@ -0,0 +1,244 @@
+package com.nht.core_service.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.nht.core_service.cache.CampaignDetailCache;
+import com.nht.core_service.document.Campaign;
+import com.nht.core_service.document.Interaction;
+import com.nht.core_service.dto.response.LikeResponse;
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+import com.nht.core_service.repository.mongodb.CampaignRepository;
+import com.nht.core_service.repository.mongodb.InteractionRepository;
+import com.nht.core_service.service.InteractionService;
+import com.nht.core_service.utils.JwtUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Likes are recorded in Redis first and written to MongoDB behind the request.
+ * <p>
+ * Redis layout:
+ * <ul>
+ *   <li>{@code campaign:{id}:likers} - SET of user IDs, the source of truth for "has liked"</li>
+ *   <li>{@code campaign:likes:delta} - HASH campaignId -> pending likeCount delta</li>
+ *   <li>{@code campaign:likes:pending} - HASH "campaignId:userId" -> last LIKE/UNLIKE op</li>
+ * </ul>
+ * {@link #flushPendingLikes()} snapshots both hashes and applies them with one bulk
+ * write per collection, so N clicks between flushes cost one Mongo round trip. Each
+ * snapshot hash is deleted as soon as its bulk write succeeds; the interaction upserts
+ * are idempotent and may be replayed, the likeCount deltas are not.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InteractionServiceImpl implements InteractionService {
+
+	private static final String TYPE_LIKE = "LIKE";
+	private static final String OP_LIKE = "LIKE";
+	private static final String OP_UNLIKE = "UNLIKE";
+
+	private static final String DELTA_KEY = "campaign:likes:delta";
+	private static final String PENDING_KEY = "campaign:likes:pending";
+	private static final String DELTA_FLUSHING_KEY = "campaign:likes:delta:flushing";
+	private static final String PENDING_FLUSHING_KEY = "campaign:likes:pending:flushing";
+	private static final String FLUSH_LOCK_KEY = "campaign:likes:flush-lock";
+	private static final Duration FLUSH_LOCK_TTL = Duration.ofSeconds(30);
+
+	// SADD/SREM the user, and only if that changed something, buffer the delta and the op.
+	private static final RedisScript<Long> TOGGLE_LIKE_SCRIPT = new DefaultRedisScript<>("""
+			local changed
+			if ARGV[3] == 'LIKE' then
+				changed = redis.call('SADD', KEYS[1], ARGV[1])
+			else
+				changed = redis.call('SREM', KEYS[1], ARGV[1])
+			end
+			if changed == 1 then
+				redis.call('HINCRBY', KEYS[2], ARGV[2], ARGV[4])
+				redis.call('HSET', KEYS[3], ARGV[2] .. ':' .. ARGV[1], ARGV[3])
+			end
+			return redis.call('SCARD', KEYS[1])
+			""", Long.class);
+
+	// Move the live buffers aside unless a previous snapshot is still waiting to be applied.
+	private static final RedisScript<Long> SNAPSHOT_SCRIPT = new DefaultRedisScript<>("""
+			if redis.call('EXISTS', KEYS[3]) == 0 and redis.call('EXISTS', KEYS[4]) == 0 then
+				if redis.call('EXISTS', KEYS[1]) == 1 then redis.call('RENAME', KEYS[1], KEYS[3]) end
+				if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('RENAME', KEYS[2], KEYS[4]) end
+			end
+			return 1
+			""", Long.class);
+
+	// Seed the likers set only if no other request has: a late seed would re-add users who unliked since.
+	private static final RedisScript<Long> SEED_LIKERS_SCRIPT = new DefaultRedisScript<>("""
+			if redis.call('EXISTS', KEYS[2]) == 1 then
+				return 0
+			end
+			for i = 1, #ARGV, 500 do
+				redis.call('SADD', KEYS[1], unpack(ARGV, i, math.min(i + 499, #ARGV)))
+			end
+			redis.call('SET', KEYS[2], '1')
+			return 1
+			""", Long.class);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final MongoTemplate mongoTemplate;
+	private final CampaignRepository campaignRepository;
+	private final InteractionRepository interactionRepository;
+	private final CampaignDetailCache campaignDetailCache;
+	private final MeterRegistry meterRegistry;
+
+	@Override
+	public LikeResponse likeCampaign(String campaignId) {
+		String userId = JwtUtils.getUserIdFromToken();
+		Long likeCount = toggleLike(campaignId, userId, OP_LIKE);
+		return new LikeResponse(campaignId, true, likeCount);
+	}
+
+	@Override
+	public LikeResponse unlikeCampaign(String campaignId) {
+		String userId = JwtUtils.getUserIdFromToken();
+		Long likeCount = toggleLike(campaignId, userId, OP_UNLIKE);
+		return new LikeResponse(campaignId, false, likeCount);
+	}
+
+	private Long toggleLike(String campaignId, String userId, String op) {
+		ensureLikersLoaded(campaignId);
+		String delta = OP_LIKE.equals(op) ? "1" : "-1";
+		Long likeCount = stringRedisTemplate.execute(
+				TOGGLE_LIKE_SCRIPT,
+				List.of(likersKey(campaignId), DELTA_KEY, PENDING_KEY),
+				userId, campaignId, op, delta);
+		log.debug("User {} {} campaign {}, likeCount={}", userId, op, campaignId, likeCount);
+		return likeCount;
+	}
+
+	/**
+	 * Seeds the likers set from MongoDB the first time a campaign is touched
+	 * (or after Redis lost it). Also acts as the campaign existence check.
+	 */
+	private void ensureLikersLoaded(String campaignId) {
+		String loadedKey = likersKey(campaignId) + ":loaded";
+		if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(loadedKey))) {
+			return;
+		}
+		if (!campaignRepository.existsById(campaignId)) {
+			throw new AppException(ErrorCode.CAMPAIGN_NOT_FOUND);
+		}
+
+		Object[] userIds = interactionRepository.findUserIdsByCampaignIdAndType(campaignId, TYPE_LIKE).stream()
+				.map(Interaction::getUserId)
+				.toArray();
+		Long seeded = stringRedisTemplate.execute(
+				SEED_LIKERS_SCRIPT, List.of(likersKey(campaignId), loadedKey), userIds);
+		if (Long.valueOf(1).equals(seeded)) {
+			log.info("Loaded {} likers into Redis for campaign {}", userIds.length, campaignId);
+		}
+	}
+
+	@Override
+	public void flushPendingLikes() {
+		String lockOwner = UUID.randomUUID().toString();
+		Boolean locked = stringRedisTemplate.opsForValue().setIfAbsent(FLUSH_LOCK_KEY, lockOwner, FLUSH_LOCK_TTL);
+		if (!Boolean.TRUE.equals(locked)) {
+			// Another core-service node is flushing
+			return;
+		}
+
+		try {
+			stringRedisTemplate.execute(
+					SNAPSHOT_SCRIPT,
+					List.of(DELTA_KEY, PENDING_KEY, DELTA_FLUSHING_KEY, PENDING_FLUSHING_KEY));
+
+			Map<Object, Object> deltas = stringRedisTemplate.opsForHash().entries(DELTA_FLUSHING_KEY);
+			Map<Object, Object> pendingOps = stringRedisTemplate.opsForHash().entries(PENDING_FLUSHING_KEY);
+			if (deltas.isEmpty() && pendingOps.isEmpty()) {
+				return;
+			}
+
+			meterRegistry.timer("campaign.likes.flush").record(() -> {
+				Set<String> touchedCampaigns = applyLikeCounts(deltas);
+				// $inc is not idempotent: drop the delta snapshot before a later step can fail and replay it
+				stringRedisTemplate.delete(DELTA_FLUSHING_KEY);
+				applyInteractions(pendingOps);
+				stringRedisTemplate.delete(PENDING_FLUSHING_KEY);
+				touchedCampaigns.forEach(campaignDetailCache::evict);
+			});
+
+			meterRegistry.counter("campaign.likes.flushed.ops").increment(pendingOps.size());
+			log.info("Flushed likes: {} campaigns, {} interactions", deltas.size(), pendingOps.size());
+		} catch (Exception e) {
+			// Whatever part of the snapshot was not applied stays in Redis and is retried on the next run
+			log.error("Failed to flush pending likes", e);
+		} finally {
+			if (lockOwner.equals(stringRedisTemplate.opsForValue().get(FLUSH_LOCK_KEY))) {
+				stringRedisTemplate.delete(FLUSH_LOCK_KEY);
+			}
+		}
+	}
+
+	private Set<String> applyLikeCounts(Map<Object, Object> deltas) {
+		Set<String> touched = new HashSet<>();
+		BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+		for (Map.Entry<Object, Object> entry : deltas.entrySet()) {
+			long delta = Long.parseLong(entry.getValue().toString());
+			if (delta == 0) {
+				continue;
+			}
+			String campaignId = entry.getKey().toString();
+			bulkOps.updateOne(
+					new Query(Criteria.where("id").is(campaignId)),
+					new Update().inc("likeCount", delta));
+			touched.add(campaignId);
+		}
+		if (!touched.isEmpty()) {
+			bulkOps.execute();
+		}
+		return touched;
+	}
+
+	private void applyInteractions(Map<Object, Object> pendingOps) {
+		if (pendingOps.isEmpty()) {
+			return;
+		}
+		BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Interaction.class);
+		for (Map.Entry<Object, Object> entry : pendingOps.entrySet()) {
+			String field = entry.getKey().toString();
+			int separator = field.indexOf(':');
+			String campaignId = field.substring(0, separator);
+			String userId = field.substring(separator + 1);
+
+			Query query = new Query(Criteria.where("campaignId").is(campaignId)
+					.and("userId").is(userId)
+					.and("type").is(TYPE_LIKE));
+			if (OP_LIKE.equals(entry.getValue().toString())) {
+				bulkOps.upsert(query, new Update().setOnInsert("createdAt", Instant.now()));
+			} else {
+				bulkOps.remove(query);
+			}
+		}
+		bulkOps.execute();
+	}
+
+	private String likersKey(String campaignId) {
+		return "campaign:" + campaignId + ":likers";
+	}
+}
@@ -0,0 +1,278 @@
+package com.nht.core_service.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nht.core_service.dto.response.LeaderboardEntryResponse;
+import com.nht.core_service.dto.response.PageResponse;
+import com.nht.core_service.enums.PaymentStatus;
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+import com.nht.core_service.service.LeaderboardService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Top-donor leaderboards as Redis sorted sets of donor key -> total donated. The donor key
+ * is the lower-cased email, or the name when no email was given (the same identity as
+ * {@code campaign_donor.donor_key}); display names live in a side hash so the key is never shown.
+ * <p>
+ * Redis layout:
+ * <ul>
+ *   <li>{@code leaderboard:campaign:{id}} - ZSET per campaign</li>
+ *   <li>{@code leaderboard:platform} - ZSET across all campaigns</li>
+ *   <li>{@code leaderboard:donor-names} - HASH donor key -> latest display name</li>
+ *   <li>{@code leaderboard:applied:{donationId}} - marker that makes {@link #recordDonation} idempotent</li>
+ * </ul>
+ * {@link #rebuild()} streams the COMPLETED donations through a server-side cursor into
+ * shadow keys and renames them over the live ones. While it runs, its shadow prefix is
+ * published in {@code leaderboard:rebuild:active} and {@link #recordDonation} adds to the
+ * shadow keys as well, so a donation completed mid-rebuild survives the rename. A shadow
+ * set of applied donation IDs keeps a donation that is both scanned and recorded from
+ * counting twice. The scripts build shadow key names from the prefix, so this assumes a
+ * single Redis node rather than a cluster.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+	private static final String CAMPAIGN_KEY_PREFIX = "leaderboard:campaign:";
+	private static final String PLATFORM_KEY = "leaderboard:platform";
+	private static final String DONOR_NAMES_KEY = "leaderboard:donor-names";
+	private static final String APPLIED_KEY_PREFIX = "leaderboard:applied:";
+	private static final String ANONYMOUS = "Ẩn danh";
+	private static final String REBUILD_PREFIX = "leaderboard:rebuild:";
+	private static final String REBUILD_LOCK_KEY = "leaderboard:rebuild-lock";
+	private static final String REBUILD_ACTIVE_KEY = "leaderboard:rebuild:active";
+	private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(30);
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final int REBUILD_FETCH_SIZE = 1000;
+
+	private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>("""
+			if not redis.call('SET', KEYS[1], '1', 'NX', 'EX', ARGV[3]) then
+				return 0
+			end
+			redis.call('ZINCRBY', KEYS[2], ARGV[2], ARGV[1])
+			redis.call('ZINCRBY', KEYS[3], ARGV[2], ARGV[1])
+			redis.call('HSET', KEYS[4], ARGV[1], ARGV[4])
+			-- A rebuild in progress must get this donation too, or its rename would drop it
+			local shadow = redis.call('GET', KEYS[5])
+			if shadow and redis.call('SADD', shadow .. 'applied', ARGV[5]) == 1 then
+				redis.call('SADD', shadow .. 'campaigns', ARGV[6])
+				redis.call('ZINCRBY', shadow .. KEYS[2], ARGV[2], ARGV[1])
+				redis.call('ZINCRBY', shadow .. KEYS[3], ARGV[2], ARGV[1])
+			end
+			return 1
+			""", Long.class);
+
+	// ARGV[1] is the shadow campaign key prefix, then (donationId, campaignId, donorKey, amount, name) per row
+	private static final RedisScript<Long> REBUILD_CHUNK_SCRIPT = new DefaultRedisScript<>("""
+			for i = 2, #ARGV, 5 do
+				if redis.call('SADD', KEYS[2], ARGV[i]) == 1 then
+					redis.call('SADD', KEYS[3], ARGV[i + 1])
+					redis.call('ZINCRBY', ARGV[1] .. ARGV[i + 1], ARGV[i + 3], ARGV[i + 2])
+					redis.call('ZINCRBY', KEYS[4], ARGV[i + 3], ARGV[i + 2])
+				end
+				redis.call('HSET', KEYS[1], ARGV[i + 2], ARGV[i + 4])
+			end
+			return 1
+			""", Long.class);
+
+	// Swaps every shadow key in and stops recordDonation writing to the shadow, in one step
+	private static final RedisScript<Long> REBUILD_FINISH_SCRIPT = new DefaultRedisScript<>("""
+			local campaigns = redis.call('SMEMBERS', KEYS[3])
+			for _, campaignId in ipairs(campaigns) do
+				redis.call('RENAME', ARGV[1] .. campaignId, ARGV[2] .. campaignId)
+			end
+			if redis.call('EXISTS', KEYS[4]) == 1 then
+				redis.call('RENAME', KEYS[4], KEYS[5])
+			end
+			redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+			return #campaigns
+			""", Long.class);
+
+	private static final RedisScript<Long> REBUILD_ABORT_SCRIPT = new DefaultRedisScript<>("""
+			for _, campaignId in ipairs(redis.call('SMEMBERS', KEYS[3])) do
+				redis.call('DEL', ARGV[1] .. campaignId)
+			end
+			redis.call('DEL', KEYS[2], KEYS[3], KEYS[4])
+			if redis.call('GET', KEYS[1]) == ARGV[2] then
+				redis.call('DEL', KEYS[1])
+			end
+			return 1
+			""", Long.class);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final MeterRegistry meterRegistry;
+
+	// Longer than any side-effect retry window
+	@Value("${leaderboard.applied-ttl-seconds:86400}")
+	@NonFinal
+	private long appliedTtlSeconds;
+
+	@Override
+	public void recordDonation(
+			String donationId, String campaignId, String donorName, String donorEmail, BigDecimal amount) {
+		stringRedisTemplate.execute(
+				RECORD_SCRIPT,
+				List.of(APPLIED_KEY_PREFIX + donationId, CAMPAIGN_KEY_PREFIX + campaignId, PLATFORM_KEY,
+						DONOR_NAMES_KEY, REBUILD_ACTIVE_KEY),
+				donorKey(donationId, donorEmail, donorName), amount.toPlainString(),
+				String.valueOf(appliedTtlSeconds), displayName(donorName), donationId, campaignId);
+	}
+
+	@Override
+	public PageResponse<LeaderboardEntryResponse> getCampaignLeaderboard(String campaignId, int page, int size) {
+		return readPage(CAMPAIGN_KEY_PREFIX + campaignId, page, size);
+	}
+
+	@Override
+	public PageResponse<LeaderboardEntryResponse> getPlatformLeaderboard(int page, int size) {
+		return readPage(PLATFORM_KEY, page, size);
+	}
+
+	private PageResponse<LeaderboardEntryResponse> readPage(String key, int page, int size) {
+		int currentPage = Math.max(page, 1);
+		int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		long start = (long) (currentPage - 1) * pageSize;
+
+		Long total = stringRedisTemplate.opsForZSet().zCard(key);
+		long totalElements = total == null ? 0 : total;
+		Set<ZSetOperations.TypedTuple<String>> tuples =
+				stringRedisTemplate.opsForZSet().reverseRangeWithScores(key, start, start + pageSize - 1);
+
+		List<LeaderboardEntryResponse> entries = new ArrayList<>();
+		if (tuples != null && !tuples.isEmpty()) {
+			List<Object> donorKeys = tuples.stream().map(tuple -> (Object) tuple.getValue()).toList();
+			List<Object> names = stringRedisTemplate.opsForHash().multiGet(DONOR_NAMES_KEY, donorKeys);
+			long rank = start;
+			int i = 0;
+			for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+				Object name = names.get(i++);
+				// Scores are doubles; scale 2 keeps large VND totals out of exponent notation
+				BigDecimal total = BigDecimal.valueOf(tuple.getScore() == null ? 0 : tuple.getScore())
+						.setScale(2, RoundingMode.HALF_UP);
+				entries.add(new LeaderboardEntryResponse(++rank, name != null ? name.toString() : ANONYMOUS, total));
+			}
+		}
+		int totalPages = (int) ((totalElements + pageSize - 1) / pageSize);
+		return new PageResponse<>(currentPage, totalPages, pageSize, totalElements, entries);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long rebuild() {
+		String lockOwner = UUID.randomUUID().toString();
+		Boolean locked = stringRedisTemplate.opsForValue()
+				.setIfAbsent(REBUILD_LOCK_KEY, lockOwner, REBUILD_LOCK_TTL);
+		if (!Boolean.TRUE.equals(locked)) {
+			throw new AppException(ErrorCode.LEADERBOARD_REBUILD_IN_PROGRESS);
+		}
+
+		// Shadow keys are unique to this run so a failed run never leaks into the next
+		String shadowPrefix = REBUILD_PREFIX + lockOwner + ":";
+		List<String> shadowKeys = List.of(
+				REBUILD_ACTIVE_KEY, shadowPrefix + "applied", shadowPrefix + "campaigns", shadowPrefix + PLATFORM_KEY);
+		try {
+			long startNanos = System.nanoTime();
+			// Published before the scan starts: a donation committed after its snapshot is recorded into the shadow
+			stringRedisTemplate.opsForValue().set(REBUILD_ACTIVE_KEY, shadowPrefix, REBUILD_LOCK_TTL);
+
+			List<String> chunk = new ArrayList<>(REBUILD_FETCH_SIZE * 5 + 1);
+			chunk.add(shadowPrefix + CAMPAIGN_KEY_PREFIX);
+			long[] rows = {0};
+
+			// Inside a read-only transaction the PostgreSQL driver honours the fetch size
+			// and streams the result instead of loading it whole
+			jdbcTemplate.query(
+					con -> {
+						PreparedStatement ps = con.prepareStatement(
+								"SELECT id, campaign_id, donor_full_name, donor_email, amount FROM donation "
+										+ "WHERE payment_status = ?");
+						ps.setFetchSize(REBUILD_FETCH_SIZE);
+						ps.setString(1, PaymentStatus.COMPLETED.name());
+						return ps;
+					},
+					(RowCallbackHandler) rs -> {
+						String donationId = rs.getString(1);
+						String donorName = rs.getString(3);
+						chunk.add(donationId);
+						chunk.add(rs.getString(2));
+						chunk.add(donorKey(donationId, rs.getString(4), donorName));
+						chunk.add(rs.getBigDecimal(5).toPlainString());
+						chunk.add(displayName(donorName));
+						rows[0]++;
+						if (rows[0] % REBUILD_FETCH_SIZE == 0) {
+							writeRebuildChunk(shadowKeys, chunk);
+						}
+					});
+			writeRebuildChunk(shadowKeys, chunk);
+
+			Long campaigns = stringRedisTemplate.execute(
+					REBUILD_FINISH_SCRIPT,
+					List.of(REBUILD_ACTIVE_KEY, shadowKeys.get(1), shadowKeys.get(2), shadowKeys.get(3), PLATFORM_KEY),
+					shadowPrefix + CAMPAIGN_KEY_PREFIX, CAMPAIGN_KEY_PREFIX);
+
+			meterRegistry.timer("leaderboard.rebuild").record(Duration.ofNanos(System.nanoTime() - startNanos));
+			log.info("Rebuilt leaderboards: {} donations, {} campaigns", rows[0], campaigns);
+			return rows[0];
+		} catch (RuntimeException e) {
+			stringRedisTemplate.execute(
+					REBUILD_ABORT_SCRIPT, shadowKeys, shadowPrefix + CAMPAIGN_KEY_PREFIX, shadowPrefix);
+			throw e;
+		} finally {
+			if (lockOwner.equals(stringRedisTemplate.opsForValue().get(REBUILD_LOCK_KEY))) {
+				stringRedisTemplate.delete(REBUILD_LOCK_KEY);
+			}
+		}
+	}
+
+	// chunk holds the shadow campaign key prefix followed by the rows; the rows are cleared once written
+	private void writeRebuildChunk(List<String> shadowKeys, List<String> chunk) {
+		if (chunk.size() <= 1) {
+			return;
+		}
+		stringRedisTemplate.execute(
+				REBUILD_CHUNK_SCRIPT,
+				List.of(DONOR_NAMES_KEY, shadowKeys.get(1), shadowKeys.get(2), shadowKeys.get(3)),
+				chunk.toArray());
+		chunk.subList(1, chunk.size()).clear();
+	}
+
+	// Same identity as campaign_donor.donor_key; a donor with neither email nor name only owns their own donation
+	private String donorKey(String donationId, String donorEmail, String donorName) {
+		if (donorEmail != null && !donorEmail.isBlank()) {
+			return donorEmail.strip().toLowerCase(Locale.ROOT);
+		}
+		if (donorName != null && !donorName.isBlank()) {
+			return donorName.strip().toLowerCase(Locale.ROOT);
+		}
+		return "donation:" + donationId;
+	}
+
+	private String displayName(String donorName) {
+		return donorName == null || donorName.isBlank() ? ANONYMOUS : donorName.strip();
+	}
+}
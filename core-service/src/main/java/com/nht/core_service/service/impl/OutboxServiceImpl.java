@@ -0,0 +1,354 @@
+package com.nht.core_service.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nht.core_service.document.OutboxMessage;
+import com.nht.core_service.entity.OutboxEvent;
+import com.nht.core_service.repository.jpa.OutboxEventRepository;
+import com.nht.core_service.service.OutboxService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transactional outbox for core-service Kafka messages.
+ * <p>
+ * Postgres-side writes append to {@code outbox_event} in their own transaction; the relay
+ * takes batches with FOR UPDATE SKIP LOCKED. MongoDB-side writes append to
+ * {@code outbox_messages}, claimed with a lease. Each batch is sent in rounds of at most
+ * one message per key, each round back to back and awaited after one flush, relying on
+ * the idempotent producer for retries. Once a message fails, later messages with its key
+ * are held back until it is published, so a key is never delivered out of order.
+ * <p>
+ * A message that has failed {@code outbox.relay.max-attempts} times is parked (dead_at /
+ * deadAt set) and no longer relayed; the messages held behind it then proceed.
+ * <p>
+ * Metrics (tag {@code store=postgres|mongo}): {@code outbox.relay.lag.seconds} (age of the
+ * oldest unpublished message), {@code outbox.pending}, {@code outbox.relay.published},
+ * {@code outbox.relay.failed}, {@code outbox.relay.dead} and {@code outbox.relay.publish.latency}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+	private static final String STORE_POSTGRES = "postgres";
+	private static final String STORE_MONGO = "mongo";
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	private final OutboxEventRepository outboxEventRepository;
+	private final MongoTemplate mongoTemplate;
+	private final KafkaTemplate<String, Object> kafkaTemplate;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, AtomicLong> lagSeconds = new HashMap<>();
+	private final Map<String, AtomicLong> pending = new HashMap<>();
+
+	@Value("${outbox.relay.batch-size:500}")
+	@NonFinal
+	private int batchSize;
+
+	@Value("${outbox.relay.send-timeout-ms:10000}")
+	@NonFinal
+	private long sendTimeoutMs;
+
+	@Value("${outbox.relay.max-attempts:20}")
+	@NonFinal
+	private int maxAttempts;
+
+	@Value("${outbox.relay.mongo-lease-ms:30000}")
+	@NonFinal
+	private long mongoLeaseMs;
+
+	@Value("${outbox.retention-days:7}")
+	@NonFinal
+	private long retentionDays;
+
+	@PostConstruct
+	void init() {
+		for (String store : List.of(STORE_POSTGRES, STORE_MONGO)) {
+			AtomicLong lag = new AtomicLong();
+			AtomicLong count = new AtomicLong();
+			lagSeconds.put(store, lag);
+			pending.put(store, count);
+			Gauge.builder("outbox.relay.lag.seconds", lag, AtomicLong::get).tag("store", store).register(meterRegistry);
+			Gauge.builder("outbox.pending", count, AtomicLong::get).tag("store", store).register(meterRegistry);
+		}
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(String topic, String key, Object event) {
+		outboxEventRepository.save(OutboxEvent.builder()
+				.topic(topic)
+				.messageKey(key)
+				.payload(toJson(event))
+				.build());
+	}
+
+	@Override
+	public void appendMongo(String topic, String key, Object event) {
+		mongoTemplate.insert(OutboxMessage.builder()
+				.topic(topic)
+				.messageKey(key)
+				.payload(toJson(event))
+				.createdAt(Instant.now())
+				.build());
+	}
+
+	@Override
+	@Transactional
+	public int relayPostgres() {
+		List<OutboxEvent> batch = outboxEventRepository.lockUnpublishedBatch(batchSize);
+		if (!batch.isEmpty()) {
+			BatchOutcome<OutboxEvent> outcome = sendBatch(
+					batch, OutboxEvent::getTopic, OutboxEvent::getMessageKey, OutboxEvent::getPayload);
+			LocalDateTime now = LocalDateTime.now();
+			for (OutboxEvent event : batch) {
+				Exception failure = outcome.failed().get(event);
+				if (outcome.published().contains(event)) {
+					event.setPublishedAt(now);
+					recordPublished(STORE_POSTGRES,
+							Duration.between(event.getCreatedAt(), now));
+				} else if (failure != null) {
+					event.setAttempts(event.getAttempts() + 1);
+					event.setLastError(truncate(failure.getMessage()));
+					if (event.getAttempts() >= maxAttempts) {
+						event.setDeadAt(now);
+						recordDead(STORE_POSTGRES, event.getId().toString(), event.getTopic(), event.getAttempts());
+					}
+				}
+			}
+			recordFailed(STORE_POSTGRES, outcome.failed().size());
+		}
+
+		pending.get(STORE_POSTGRES).set(outboxEventRepository.countByPublishedAtIsNullAndDeadAtIsNull());
+		lagSeconds.get(STORE_POSTGRES).set(outboxEventRepository.findFirstByPublishedAtIsNullAndDeadAtIsNullOrderByIdAsc()
+				.map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toSeconds())
+				.orElse(0L));
+		return batch.size();
+	}
+
+	@Override
+	public int relayMongo() {
+		List<OutboxMessage> batch = claimMongoBatch();
+		if (!batch.isEmpty()) {
+			BatchOutcome<OutboxMessage> outcome = sendBatch(
+					batch, OutboxMessage::getTopic, OutboxMessage::getMessageKey, OutboxMessage::getPayload);
+			Instant now = Instant.now();
+			BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OutboxMessage.class);
+			for (OutboxMessage message : batch) {
+				Query byId = new Query(Criteria.where("id").is(message.getId()));
+				Exception failure = outcome.failed().get(message);
+				if (outcome.published().contains(message)) {
+					bulkOps.updateOne(byId, new Update().set("publishedAt", now).unset("lockOwner").unset("lockedUntil"));
+					recordPublished(STORE_MONGO, Duration.between(message.getCreatedAt(), now));
+				} else if (failure != null) {
+					Update update = new Update()
+							.inc("attempts", 1)
+							.set("lastError", truncate(failure.getMessage()))
+							.unset("lockOwner")
+							.unset("lockedUntil");
+					if (message.getAttempts() + 1 >= maxAttempts) {
+						update.set("deadAt", now);
+						recordDead(STORE_MONGO, message.getId(), message.getTopic(), message.getAttempts() + 1);
+					}
+					bulkOps.updateOne(byId, update);
+				} else {
+					// Held back behind a failed message with the same key; release the lease untouched
+					bulkOps.updateOne(byId, new Update().unset("lockOwner").unset("lockedUntil"));
+				}
+			}
+			bulkOps.execute();
+			recordFailed(STORE_MONGO, outcome.failed().size());
+		}
+
+		Query unpublished = new Query(Criteria.where("publishedAt").is(null).and("deadAt").is(null));
+		pending.get(STORE_MONGO).set(mongoTemplate.count(unpublished, OutboxMessage.class));
+		OutboxMessage oldest = mongoTemplate.findOne(
+				unpublished.with(Sort.by(Sort.Direction.ASC, "createdAt")), OutboxMessage.class);
+		lagSeconds.get(STORE_MONGO).set(
+				oldest == null ? 0 : Duration.between(oldest.getCreatedAt(), Instant.now()).toSeconds());
+		return batch.size();
+	}
+
+	@Override
+	@Transactional
+	public int purgePostgres() {
+		int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays));
+		if (deleted > 0) {
+			log.info("Purged {} published outbox events", deleted);
+		}
+		return deleted;
+	}
+
+	/**
+	 * Picks the oldest unclaimed messages, then leases them to this run; only the
+	 * documents whose lease this run actually wrote are returned.
+	 */
+	private List<OutboxMessage> claimMongoBatch() {
+		Instant now = Instant.now();
+		Criteria claimable = Criteria.where("publishedAt").is(null).and("deadAt").is(null).orOperator(
+				Criteria.where("lockedUntil").is(null),
+				Criteria.where("lockedUntil").lt(now));
+
+		Query candidates = new Query(claimable)
+				.with(Sort.by(Sort.Direction.ASC, "createdAt"))
+				.limit(batchSize);
+		candidates.fields().include("id");
+		List<String> ids = mongoTemplate.find(candidates, OutboxMessage.class).stream()
+				.map(OutboxMessage::getId)
+				.toList();
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		String owner = UUID.randomUUID().toString();
+		mongoTemplate.updateMulti(
+				new Query(Criteria.where("id").in(ids).andOperator(claimable)),
+				new Update().set("lockOwner", owner).set("lockedUntil", now.plusMillis(mongoLeaseMs)),
+				OutboxMessage.class);
+		return mongoTemplate.find(
+				new Query(Criteria.where("lockOwner").is(owner)).with(Sort.by(Sort.Direction.ASC, "createdAt")),
+				OutboxMessage.class);
+	}
+
+	/**
+	 * Sends the batch in rounds holding the next message of every key: each round is sent
+	 * back to back, flushed once and awaited. A key whose message failed drops out, so its
+	 * later messages are neither published nor failed. Messages without a key have no
+	 * ordering to keep and all go in the first round.
+	 */
+	private <T> BatchOutcome<T> sendBatch(List<T> batch, Function<T, String> topic, Function<T, String> key,
+			Function<T, String> payload) {
+		Map<Object, ArrayDeque<T>> lanes = new LinkedHashMap<>();
+		for (T message : batch) {
+			String messageKey = key.apply(message);
+			Object lane = messageKey != null ? messageKey : new Object();
+			lanes.computeIfAbsent(lane, k -> new ArrayDeque<>()).add(message);
+		}
+
+		Set<T> published = Collections.newSetFromMap(new IdentityHashMap<>());
+		Map<T, Exception> failed = new IdentityHashMap<>();
+		while (!lanes.isEmpty()) {
+			Map<T, CompletableFuture<?>> sends = new LinkedHashMap<>();
+			Map<T, Object> laneOf = new IdentityHashMap<>();
+			Iterator<Map.Entry<Object, ArrayDeque<T>>> it = lanes.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<Object, ArrayDeque<T>> lane = it.next();
+				T message = lane.getValue().poll();
+				try {
+					// Sent as a JSON tree so the value serializer writes the stored JSON unchanged
+					sends.put(message, kafkaTemplate.send(
+							topic.apply(message), key.apply(message), objectMapper.readTree(payload.apply(message))));
+					laneOf.put(message, lane.getKey());
+				} catch (Exception e) {
+					failed.put(message, e);
+					lane.getValue().clear();
+				}
+				if (lane.getValue().isEmpty()) {
+					it.remove();
+				}
+			}
+			if (sends.isEmpty()) {
+				continue;
+			}
+			kafkaTemplate.flush();
+
+			for (Map.Entry<T, CompletableFuture<?>> send : sends.entrySet()) {
+				Exception failure = null;
+				try {
+					send.getValue().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					failure = e;
+				} catch (ExecutionException | TimeoutException e) {
+					failure = e;
+				}
+				if (failure == null) {
+					published.add(send.getKey());
+				} else {
+					failed.put(send.getKey(), failure);
+					lanes.remove(laneOf.get(send.getKey()));
+				}
+			}
+		}
+
+		if (!failed.isEmpty()) {
+			log.error("Outbox relay: {} of {} messages failed, {} held back behind them, will retry",
+					failed.size(), batch.size(), batch.size() - failed.size() - published.size());
+		}
+		return new BatchOutcome<>(published, failed);
+	}
+
+	private void recordPublished(String store, Duration sinceCreated) {
+		meterRegistry.counter("outbox.relay.published", "store", store).increment();
+		meterRegistry.timer("outbox.relay.publish.latency", "store", store).record(sinceCreated);
+	}
+
+	private void recordFailed(String store, int count) {
+		if (count > 0) {
+			meterRegistry.counter("outbox.relay.failed", "store", store).increment(count);
+		}
+	}
+
+	private void recordDead(String store, String id, String topic, int attempts) {
+		meterRegistry.counter("outbox.relay.dead", "store", store).increment();
+		log.error("Outbox message {} for topic {} parked after {} attempts, needs manual replay",
+				id, topic, attempts);
+	}
+
+	private String toJson(Object event) {
+		try {
+			return objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Outbox event is not serializable: " + event.getClass(), e);
+		}
+	}
+
+	private String truncate(String message) {
+		String value = String.valueOf(message);
+		return value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+	}
+
+	// Identity-keyed: the entities' equals/hashCode change when they are updated
+	private record BatchOutcome<T>(Set<T> published, Map<T, Exception> failed) {}
+}
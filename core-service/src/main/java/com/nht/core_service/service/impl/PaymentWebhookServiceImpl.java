@@ -0,0 +1,205 @@
+package com.nht.core_service.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nht.core_service.cache.PendingPaymentCodeFilter;
+import com.nht.core_service.config.KafkaTopicConfig;
+import com.nht.core_service.dto.event.DonationEvent;
+import com.nht.core_service.dto.request.PaymentWebhookRequest;
+import com.nht.core_service.entity.Donation;
+import com.nht.core_service.entity.PaymentWebhookJournal;
+import com.nht.core_service.enums.PaymentStatus;
+import com.nht.core_service.enums.WebhookJournalStatus;
+import com.nht.core_service.repository.jpa.DonationRepository;
+import com.nht.core_service.repository.jpa.PaymentWebhookJournalRepository;
+import com.nht.core_service.service.OutboxService;
+import com.nht.core_service.service.PaymentWebhookService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bank webhooks are journaled in Postgres and acknowledged straight away;
+ * {@link #drainJournal()} then resolves a whole batch with one IN-query on
+ * payment codes and writes its donation events to the outbox. Codes that miss
+ * {@link PendingPaymentCodeFilter} are rejected before that query; the filter only
+ * reports a miss for codes old enough to be in its last rebuild, so a code it has
+ * not heard of yet still goes to the query.
+ * <p>
+ * Metrics: {@code payment.webhook.journal.depth} (pending rows),
+ * {@code payment.webhook.drain} (batch duration),
+ * {@code payment.webhook.drain.latency} (received to published) and
+ * {@code payment.webhook.drained{result=...}}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+
+	// Payment code: 'TS' followed by 13 digits and 6 uppercase alphanumeric chars
+	private static final Pattern PAYMENT_CODE_PATTERN = Pattern.compile("(TS\\d{13}[A-Z0-9]{6})");
+
+	private final PaymentWebhookJournalRepository journalRepository;
+	private final DonationRepository donationRepository;
+	private final PendingPaymentCodeFilter pendingPaymentCodeFilter;
+	private final OutboxService outboxService;
+	private final MeterRegistry meterRegistry;
+
+	private final AtomicLong pendingDepth = new AtomicLong();
+
+	@Value("${payment.webhook.batch-size:200}")
+	@NonFinal
+	private int batchSize;
+
+	@Value("${payment.webhook.retention-days:7}")
+	@NonFinal
+	private long retentionDays;
+
+	@NonFinal
+	private Timer drainTimer;
+
+	@NonFinal
+	private Timer drainLatency;
+
+	@PostConstruct
+	void init() {
+		Gauge.builder("payment.webhook.journal.depth", pendingDepth, AtomicLong::get)
+				.description("Journaled payment webhooks waiting to be drained")
+				.register(meterRegistry);
+		drainTimer = Timer.builder("payment.webhook.drain").register(meterRegistry);
+		drainLatency = Timer.builder("payment.webhook.drain.latency").register(meterRegistry);
+	}
+
+	@Override
+	@Transactional
+	public void enqueue(PaymentWebhookRequest request) {
+		int inserted = journalRepository.append(
+				request.id(), request.content(), request.transferAmount(), request.referenceCode());
+		if (inserted == 0) {
+			log.warn("Duplicate payment webhook ignored: id={}", request.id());
+			return;
+		}
+		pendingDepth.incrementAndGet();
+		log.debug("Payment webhook journaled: id={}", request.id());
+	}
+
+	@Override
+	@Transactional
+	public int drainJournal() {
+		List<PaymentWebhookJournal> batch = journalRepository.lockPendingBatch(batchSize);
+		if (batch.isEmpty()) {
+			pendingDepth.set(journalRepository.countByStatus(WebhookJournalStatus.PENDING));
+			return 0;
+		}
+
+		Timer.Sample sample = Timer.start(meterRegistry);
+
+		Map<Long, String> paymentCodes = new LinkedHashMap<>();
+		for (PaymentWebhookJournal entry : batch) {
+			String paymentCode = extractPaymentCode(entry.getContent());
+			if (paymentCode == null) {
+				finish(entry, WebhookJournalStatus.REJECTED, "Payment code not found in content");
+			} else if (!pendingPaymentCodeFilter.mightContain(paymentCode)) {
+				// Old enough to be in the filter's scan, so certainly not a pending donation's code
+				finish(entry, WebhookJournalStatus.REJECTED, "Unknown payment code " + paymentCode);
+			} else {
+				paymentCodes.put(entry.getId(), paymentCode);
+			}
+		}
+
+		Map<String, Donation> donations = paymentCodes.isEmpty()
+				? Map.of()
+				: donationRepository.findByPaymentCodeIn(new HashSet<>(paymentCodes.values())).stream()
+						.collect(Collectors.toMap(Donation::getPaymentCode, Function.identity()));
+
+		int published = 0;
+		Set<UUID> publishedDonations = new HashSet<>();
+		for (PaymentWebhookJournal entry : batch) {
+			String paymentCode = paymentCodes.get(entry.getId());
+			if (paymentCode == null) {
+				continue;
+			}
+			Donation donation = donations.get(paymentCode);
+			if (donation == null) {
+				pendingPaymentCodeFilter.recordFalsePositive();
+				finish(entry, WebhookJournalStatus.REJECTED, "Donation not found for payment code " + paymentCode);
+				continue;
+			}
+			if (entry.getTransferAmount() == null || donation.getAmount().compareTo(entry.getTransferAmount()) != 0) {
+				finish(entry, WebhookJournalStatus.REJECTED, String.format(
+						"Payment amount mismatch: expected=%s, received=%s",
+						donation.getAmount(), entry.getTransferAmount()));
+				continue;
+			}
+			if (donation.getPaymentStatus() == PaymentStatus.COMPLETED || !publishedDonations.add(donation.getId())) {
+				finish(entry, WebhookJournalStatus.SKIPPED, "Donation already processed: " + donation.getId());
+				continue;
+			}
+
+			// Journal row and outbox row commit together; the relay does the Kafka send
+			DonationEvent event = new DonationEvent(donation.getId(), donation.getCampaignId(),
+					donation.getAmount(), donation.getDonorFullName(), donation.getContent());
+			outboxService.append(KafkaTopicConfig.DONATION_EVENTS_TOPIC, donation.getId().toString(), event);
+			finish(entry, WebhookJournalStatus.PUBLISHED, null);
+			drainLatency.record(Duration.between(entry.getReceivedAt(), entry.getProcessedAt()));
+			published++;
+		}
+
+		sample.stop(drainTimer);
+		pendingDepth.set(journalRepository.countByStatus(WebhookJournalStatus.PENDING));
+		log.info("Drained {} payment webhooks, {} published", batch.size(), published);
+		return batch.size();
+	}
+
+	@Override
+	@Transactional
+	public int purgeJournal() {
+		int deleted = journalRepository.deleteProcessedBefore(
+				List.of(WebhookJournalStatus.PUBLISHED, WebhookJournalStatus.SKIPPED),
+				LocalDateTime.now().minusDays(retentionDays));
+		if (deleted > 0) {
+			log.info("Purged {} processed payment webhooks", deleted);
+		}
+		return deleted;
+	}
+
+	private String extractPaymentCode(String content) {
+		if (content == null) {
+			return null;
+		}
+		Matcher matcher = PAYMENT_CODE_PATTERN.matcher(content);
+		return matcher.find() ? matcher.group(1) : null;
+	}
+
+	private void finish(PaymentWebhookJournal entry, WebhookJournalStatus status, String reason) {
+		entry.setStatus(status);
+		entry.setProcessedAt(LocalDateTime.now());
+		entry.setLastError(reason);
+		if (status == WebhookJournalStatus.REJECTED) {
+			log.error("Payment webhook {} rejected: {}", entry.getWebhookId(), reason);
+		}
+		meterRegistry.counter("payment.webhook.drained", "result", status.name().toLowerCase()).increment();
+	}
+}
@@ -1,19 +1,40 @@
 package com.nht.core_service.service.impl;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import com.nht.core_service.document.Campaign;
 import com.nht.core_service.document.Proof;
+import com.nht.core_service.document.ProofVote;
 import com.nht.core_service.document.WithdrawalRequest;
 import com.nht.core_service.dto.request.HybridReasoningCallbackRequest;
+import com.nht.core_service.dto.response.HybridCallbackItemResponse;
 import com.nht.core_service.dto.response.ProofResponse;
 import com.nht.core_service.enums.AiStatus;
+import com.nht.core_service.enums.CallbackItemStatus;
 import com.nht.core_service.enums.WithdrawalStatus;
 import com.nht.core_service.exception.AppException;
 import com.nht.core_service.exception.ErrorCode;
@@ -26,7 +47,9 @@ import com.nht.core_service.repository.mongodb.WithdrawalRequestRepository;
 import com.nht.core_service.service.ProofService;
 import com.nht.core_service.service.WebSocketService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
@@ -34,11 +57,21 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ProofServiceImpl implements ProofService {
 
+	// A proof with more reports than this is rejected
+	private static final int MAX_REPORTS = 5;
+
 	private final ProofRepository proofRepository;
 	private final WithdrawalRequestRepository withdrawalRequestRepository;
 	private final CampaignRepository campaignRepository;
 	private final HybridReasoningProducer hybridReasoningProducer;
 	private final WebSocketService webSocketService;
+	private final MongoTemplate mongoTemplate;
+	private final MeterRegistry meterRegistry;
+	private final WithdrawalStateMachine withdrawalStateMachine;
+
+	@Value("${proof.hybrid-callback.max-batch-size:500}")
+	@NonFinal
+	private int maxHybridBatchSize;
 
 	@Override
 	public ProofResponse uploadProof(String withdrawalRequestId, List<String> billImageUrls,
@@ -113,7 +146,81 @@ public class ProofServiceImpl implements ProofService {
 				.orElseThrow(() -> new AppException(ErrorCode.PROOF_NOT_FOUND));
 
 		// Update AI analysis fields
-		proof.setAiStatus(event.isValid() ? AiStatus.VERIFIED : AiStatus.REJECTED);
+		applyAiResult(proof, event);
+
+		Proof updatedProof = proofRepository.save(proof);
+		log.info("Proof updated - ID: {}, Status: {}, Score: {}",
+				updatedProof.getId(), updatedProof.getAiStatus(), updatedProof.getAiScore());
+
+		// Push WebSocket notification
+		try {
+			webSocketService.sendProofVerificationUpdate(
+					updatedProof.getWithdrawalRequestId(),
+					toProofResponse(updatedProof));
+			log.info("WebSocket notification sent for proof: {}", updatedProof.getId());
+		} catch (Exception e) {
+			log.error("Failed to send WebSocket notification for proof: {}", updatedProof.getId(), e);
+		}
+
+		// Optional: Auto-process withdrawal if verified with high score
+		if (event.isValid() && event.score() >= 80) {
+			log.info("Proof verified with high score, consider auto-processing withdrawal");
+			// TODO: Implement auto-processing logic
+		}
+	}
+
+	@Override
+	public Set<String> updateProofsFromAiResults(List<ProofVerificationResultEvent> events) {
+		meterRegistry.summary("proof.ai.result.batch.size").record(events.size());
+		return meterRegistry.timer("proof.ai.result.batch").record(() -> {
+			// A later result for the same proof supersedes an earlier one in the batch
+			Map<String, ProofVerificationResultEvent> latest = new LinkedHashMap<>();
+			for (ProofVerificationResultEvent event : events) {
+				latest.put(event.proofId(), event);
+			}
+
+			Map<String, Proof> proofs = proofRepository.findAllById(latest.keySet()).stream()
+					.collect(Collectors.toMap(Proof::getId, Function.identity()));
+			Set<String> missing = new LinkedHashSet<>(latest.keySet());
+			missing.removeAll(proofs.keySet());
+			if (!missing.isEmpty()) {
+				meterRegistry.counter("proof.ai.result.missing").increment(missing.size());
+				log.warn("AI results for {} unknown proofs not applied: {}", missing.size(), missing);
+			}
+			if (proofs.isEmpty()) {
+				return missing;
+			}
+
+			Instant now = Instant.now();
+			BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Proof.class);
+			for (Proof proof : proofs.values()) {
+				applyAiResult(proof, latest.get(proof.getId()));
+				proof.setUpdatedAt(now);
+				bulkOps.updateOne(
+						new Query(Criteria.where("id").is(proof.getId())),
+						new Update()
+								.set("aiStatus", proof.getAiStatus())
+								.set("aiScore", proof.getAiScore())
+								.set("aiAnalysis", proof.getAiAnalysis())
+								.set("updatedAt", now));
+			}
+			bulkOps.execute();
+			log.info("Applied {} AI results in one bulk write", proofs.size());
+
+			// Notifications only after the write is durable
+			for (Proof proof : proofs.values()) {
+				try {
+					webSocketService.sendProofVerificationUpdate(proof.getWithdrawalRequestId(), toProofResponse(proof));
+				} catch (Exception e) {
+					log.error("Failed to send WebSocket notification for proof: {}", proof.getId(), e);
+				}
+			}
+			return missing;
+		});
+	}
+
+	private void applyAiResult(Proof proof, ProofVerificationResultEvent event) {
+		proof.setAiStatus(Boolean.TRUE.equals(event.isValid()) ? AiStatus.VERIFIED : AiStatus.REJECTED);
 		proof.setAiScore(event.score());
 
 		// Build analysis string including forensics metadata (BUG-04 fix)
@@ -134,9 +241,18 @@ public class ProofServiceImpl implements ProofService {
 			}
 		}
 		proof.setAiAnalysis(analysis.toString());
+	}
+
+	@Override
+	public void updateProofFromHybridResult(HybridReasoningCallbackRequest request) {
+		log.info("Updating proof from hybrid reasoning result: {}", request.proofId());
+
+		Proof proof = proofRepository.findById(request.proofId())
+				.orElseThrow(() -> new AppException(ErrorCode.PROOF_NOT_FOUND));
+		applyHybridResult(proof, request);
 
 		Proof updatedProof = proofRepository.save(proof);
-		log.info("Proof updated - ID: {}, Status: {}, Score: {}",
+		log.info("Proof updated from hybrid reasoning - ID: {}, Status: {}, Score: {}",
 				updatedProof.getId(), updatedProof.getAiStatus(), updatedProof.getAiScore());
 
 		// Push WebSocket notification
@@ -144,25 +260,95 @@ public class ProofServiceImpl implements ProofService {
 			webSocketService.sendProofVerificationUpdate(
 					updatedProof.getWithdrawalRequestId(),
 					toProofResponse(updatedProof));
-			log.info("WebSocket notification sent for proof: {}", updatedProof.getId());
+			log.info("WebSocket notification sent for hybrid proof: {}", updatedProof.getId());
 		} catch (Exception e) {
 			log.error("Failed to send WebSocket notification for proof: {}", updatedProof.getId(), e);
 		}
-
-		// Optional: Auto-process withdrawal if verified with high score
-		if (event.isValid() && event.score() >= 80) {
-			log.info("Proof verified with high score, consider auto-processing withdrawal");
-			// TODO: Implement auto-processing logic
-		}
 	}
 
 	@Override
-	public void updateProofFromHybridResult(HybridReasoningCallbackRequest request) {
-		log.info("Updating proof from hybrid reasoning result: {}", request.proofId());
+	public List<HybridCallbackItemResponse> updateProofsFromHybridResults(
+			List<HybridReasoningCallbackRequest> requests) {
+		if (requests.size() > maxHybridBatchSize) {
+			throw new AppException(ErrorCode.HYBRID_CALLBACK_BATCH_TOO_LARGE);
+		}
+		meterRegistry.summary("proof.hybrid.callback.batch.size").record(requests.size());
 
-		Proof proof = proofRepository.findById(request.proofId())
-				.orElseThrow(() -> new AppException(ErrorCode.PROOF_NOT_FOUND));
+		// A later result for the same proof supersedes an earlier one in the batch
+		Map<String, Integer> latestIndex = new LinkedHashMap<>();
+		for (int i = 0; i < requests.size(); i++) {
+			latestIndex.put(requests.get(i).proofId(), i);
+		}
+		Map<String, Proof> proofs = proofRepository.findAllById(latestIndex.keySet()).stream()
+				.collect(Collectors.toMap(Proof::getId, Function.identity()));
+
+		Instant now = Instant.now();
+		BulkOperations bulkOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Proof.class);
+		List<String> bulkOrder = new ArrayList<>(proofs.size());
+		for (Map.Entry<String, Integer> entry : latestIndex.entrySet()) {
+			Proof proof = proofs.get(entry.getKey());
+			if (proof == null) {
+				continue;
+			}
+			applyHybridResult(proof, requests.get(entry.getValue()));
+			proof.setUpdatedAt(now);
+			bulkOps.updateOne(
+					new Query(Criteria.where("id").is(proof.getId())),
+					new Update()
+							.set("aiStatus", proof.getAiStatus())
+							.set("aiScore", proof.getAiScore())
+							.set("aiAnalysis", proof.getAiAnalysis())
+							.set("updatedAt", now));
+			bulkOrder.add(proof.getId());
+		}
 
+		Set<String> failed = new HashSet<>();
+		if (!bulkOrder.isEmpty()) {
+			try {
+				bulkOps.execute();
+			} catch (BulkOperationException e) {
+				// Unordered: everything not listed as an error was written
+				e.getErrors().forEach(error -> failed.add(bulkOrder.get(error.getIndex())));
+				log.error("{} of {} hybrid results failed to write", failed.size(), bulkOrder.size(), e);
+			}
+		}
+
+		List<HybridCallbackItemResponse> results = new ArrayList<>(requests.size());
+		for (int i = 0; i < requests.size(); i++) {
+			String proofId = requests.get(i).proofId();
+			Proof proof = proofs.get(proofId);
+			CallbackItemStatus status;
+			if (latestIndex.get(proofId) != i) {
+				status = CallbackItemStatus.SUPERSEDED;
+			} else if (proof == null) {
+				status = CallbackItemStatus.NOT_FOUND;
+			} else if (failed.contains(proofId)) {
+				status = CallbackItemStatus.FAILED;
+			} else {
+				status = CallbackItemStatus.APPLIED;
+			}
+			meterRegistry.counter("proof.hybrid.callback.items", "status", status.name()).increment();
+			results.add(new HybridCallbackItemResponse(
+					i, proofId, status, status == CallbackItemStatus.APPLIED ? proof.getAiStatus() : null));
+		}
+		log.info("Applied {} hybrid results in one bulk write", bulkOrder.size() - failed.size());
+
+		// Notifications only after the write is durable
+		for (String proofId : bulkOrder) {
+			if (failed.contains(proofId)) {
+				continue;
+			}
+			Proof proof = proofs.get(proofId);
+			try {
+				webSocketService.sendProofVerificationUpdate(proof.getWithdrawalRequestId(), toProofResponse(proof));
+			} catch (Exception e) {
+				log.error("Failed to send WebSocket notification for proof: {}", proofId, e);
+			}
+		}
+		return results;
+	}
+
+	private void applyHybridResult(Proof proof, HybridReasoningCallbackRequest request) {
 		// Map rubric decision to current enum:
 		// VERIFIED -> VERIFIED, NEEDS_REVIEW -> keep PROCESSING for manual follow-up,
 		// SUSPICIOUS -> REJECTED
@@ -218,20 +404,6 @@ public class ProofServiceImpl implements ProofService {
 		}
 
 		proof.setAiAnalysis(analysis.toString());
-
-		Proof updatedProof = proofRepository.save(proof);
-		log.info("Proof updated from hybrid reasoning - ID: {}, Status: {}, Score: {}",
-				updatedProof.getId(), updatedProof.getAiStatus(), updatedProof.getAiScore());
-
-		// Push WebSocket notification
-		try {
-			webSocketService.sendProofVerificationUpdate(
-					updatedProof.getWithdrawalRequestId(),
-					toProofResponse(updatedProof));
-			log.info("WebSocket notification sent for hybrid proof: {}", updatedProof.getId());
-		} catch (Exception e) {
-			log.error("Failed to send WebSocket notification for proof: {}", updatedProof.getId(), e);
-		}
 	}
 
 	private ProofResponse toProofResponse(Proof proof) {
@@ -293,12 +465,10 @@ public class ProofServiceImpl implements ProofService {
 		proof.setAiStatus(AiStatus.VERIFIED);
 		Proof savedProof = proofRepository.save(proof);
 
-		WithdrawalRequest withdrawalRequest = withdrawalRequestRepository.findById(proof.getWithdrawalRequestId())
-				.orElse(null);
-		if (withdrawalRequest != null && withdrawalRequest.getStatus() == WithdrawalStatus.WAITING_PROOF) {
-			withdrawalRequest.setStatus(WithdrawalStatus.COMPLETED);
-			withdrawalRequestRepository.save(withdrawalRequest);
-			log.info("Withdrawal request {} marked as COMPLETED after proof approval.", withdrawalRequest.getId());
+		WithdrawalRequest completed = withdrawalStateMachine.tryTransition(
+				proof.getWithdrawalRequestId(), WithdrawalStatus.WAITING_PROOF, WithdrawalStatus.COMPLETED, null);
+		if (completed != null) {
+			log.info("Withdrawal request {} marked as COMPLETED after proof approval.", completed.getId());
 		}
 
 		return toProofResponse(savedProof);
@@ -319,45 +489,65 @@ public class ProofServiceImpl implements ProofService {
 	@Override
 	public ProofResponse upvoteProof(String id, String userId) {
 		log.info("User {} upvoting proof: {}", userId, id);
-		Proof proof = proofRepository.findById(id)
-				.orElseThrow(() -> new AppException(ErrorCode.PROOF_NOT_FOUND));
-
-		if (proof.getUpvoterIds() == null) {
-			proof.setUpvoterIds(new java.util.ArrayList<>());
-		}
-
-		if (!proof.getUpvoterIds().contains(userId)) {
-			proof.getUpvoterIds().add(userId);
-			proof.setUpvoteCount(proof.getUpvoterIds().size());
-			proof = proofRepository.save(proof);
-		}
-
-		return toProofResponse(proof);
+		recordVote(id, userId, ProofVote.TYPE_UPVOTE);
+		Proof proof = applyVoteCount(id, ProofVote.TYPE_UPVOTE, "upvoteCount", false);
+		return toProofResponse(requireVotedProof(proof, id, userId, ProofVote.TYPE_UPVOTE));
 	}
 
 	@Override
 	public ProofResponse reportProof(String id, String userId) {
 		log.info("User {} reporting proof: {}", userId, id);
-		Proof proof = proofRepository.findById(id)
-				.orElseThrow(() -> new AppException(ErrorCode.PROOF_NOT_FOUND));
+		recordVote(id, userId, ProofVote.TYPE_REPORT);
+		Proof proof = applyVoteCount(id, ProofVote.TYPE_REPORT, "reportCount", true);
+		return toProofResponse(requireVotedProof(proof, id, userId, ProofVote.TYPE_REPORT));
+	}
 
-		if (proof.getReporterIds() == null) {
-			proof.setReporterIds(new java.util.ArrayList<>());
+	// A repeated vote is not an error: it still recounts, which completes a vote whose count was lost
+	private void recordVote(String proofId, String userId, String type) {
+		try {
+			mongoTemplate.insert(ProofVote.builder().proofId(proofId).userId(userId).type(type).build());
+		} catch (DuplicateKeyException e) {
+			log.debug("User {} already cast {} on proof {}", userId, type, proofId);
 		}
+	}
 
-		if (!proof.getReporterIds().contains(userId)) {
-			proof.getReporterIds().add(userId);
-			proof.setReportCount(proof.getReporterIds().size());
-
-			// Custom logic: reject if more than 5 reports
-			if (proof.getReportCount() > 5) {
-				proof.setAiStatus(AiStatus.REJECTED);
-				log.warn("Proof {} reaches > 5 reports, marked as REJECTED", id);
-			}
-
-			proof = proofRepository.save(proof);
+	/**
+	 * Sets the counter to the number of votes in proof_votes instead of incrementing it, so a
+	 * vote whose count was lost (crash after the insert) is picked up by the retry or the next
+	 * vote, and a count can never be applied twice. The update only moves the counter forward:
+	 * whichever concurrent vote counts last has seen every insert before it. Reports over
+	 * MAX_REPORTS also reject the proof, in the same write as the count that crossed it.
+	 */
+	private Proof applyVoteCount(String proofId, String type, String counter, boolean rejectOverLimit) {
+		int votes = (int) mongoTemplate.count(
+				new Query(Criteria.where("proofId").is(proofId).and("type").is(type)), ProofVote.class);
+		Update update = new Update().set(counter, votes);
+		if (rejectOverLimit && votes > MAX_REPORTS) {
+			update.set("aiStatus", AiStatus.REJECTED);
+		}
+		Proof proof = mongoTemplate.findAndModify(
+				new Query(Criteria.where("id").is(proofId).and(counter).not().gte(votes)),
+				update,
+				FindAndModifyOptions.options().returnNew(true),
+				Proof.class);
+		if (proof == null) {
+			// Already counted, or the proof does not exist
+			return mongoTemplate.findById(proofId, Proof.class);
+		}
+		if (rejectOverLimit && votes == MAX_REPORTS + 1) {
+			log.warn("Proof {} reaches > {} reports, marked as REJECTED", proofId, MAX_REPORTS);
 		}
+		return proof;
+	}
 
-		return toProofResponse(proof);
+	// The counter update doubles as the existence check; a vote on a missing proof is undone
+	private Proof requireVotedProof(Proof proof, String proofId, String userId, String type) {
+		if (proof == null) {
+			mongoTemplate.remove(
+					new Query(Criteria.where("proofId").is(proofId).and("userId").is(userId).and("type").is(type)),
+					ProofVote.class);
+			throw new AppException(ErrorCode.PROOF_NOT_FOUND);
+		}
+		return proof;
 	}
 }
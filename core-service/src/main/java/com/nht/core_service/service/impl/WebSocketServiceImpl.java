@@ -1,5 +1,11 @@
 package com.nht.core_service.service.impl;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
@@ -11,6 +17,8 @@ import com.nht.core_service.dto.websocket.CampaignActivityMessage;
 import com.nht.core_service.dto.websocket.CampaignStatsMessage;
 import com.nht.core_service.service.WebSocketService;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,6 +28,19 @@ import lombok.extern.slf4j.Slf4j;
 public class WebSocketServiceImpl implements WebSocketService {
 
 	private final SimpMessagingTemplate messagingTemplate;
+	private final MeterRegistry meterRegistry;
+
+	// Latest stats per campaign waiting for the next flush; newer messages replace older ones
+	private final Map<String, CampaignStatsMessage> pendingStats = new ConcurrentHashMap<>();
+	private Counter statsConflated;
+	private Counter statsSent;
+
+	@PostConstruct
+	void init() {
+		meterRegistry.gaugeMapSize("websocket.stats.pending", List.of(), pendingStats);
+		statsConflated = meterRegistry.counter("websocket.stats.conflated");
+		statsSent = meterRegistry.counter("websocket.stats.sent");
+	}
 	
 	@Override
 	public void sendCampaignUpdate(String campaignId, CampaignResponse campaign) {
@@ -43,13 +64,42 @@ public class WebSocketServiceImpl implements WebSocketService {
 			destination, proof.aiStatus(), proof.aiScore());
 	}
 
-	// Keep old methods for backward compatibility
+	/**
+	 * Queues the stats for the next {@link #flushCampaignStats()}; only the latest
+	 * message per campaign is kept, so a donation spike costs one send per interval.
+	 */
+	@Override
 	public void sendCampaignStats(CampaignStatsMessage message) {
-		String destination = "/topic/campaign/" + message.campaignId() + "/stats";
-		messagingTemplate.convertAndSend(destination, message);
-		log.info("Sent campaign stats to {}: amount={}", destination, message.currentAmount());
+		if (pendingStats.put(message.campaignId(), message) != null) {
+			statsConflated.increment();
+		}
+	}
+
+	@Override
+	public int flushCampaignStats() {
+		int sent = 0;
+		for (String campaignId : pendingStats.keySet()) {
+			CampaignStatsMessage message = pendingStats.remove(campaignId);
+			if (message == null) {
+				continue;
+			}
+			String destination = "/topic/campaign/" + campaignId + "/stats";
+			try {
+				messagingTemplate.convertAndSend(destination, message);
+				sent++;
+				log.debug("Sent campaign stats to {}: amount={}", destination, message.currentAmount());
+			} catch (Exception e) {
+				// Put it back unless a newer message arrived meanwhile
+				pendingStats.putIfAbsent(campaignId, message);
+				log.error("Failed to send campaign stats to {}", destination, e);
+			}
+		}
+		statsSent.increment(sent);
+		return sent;
 	}
 
+	// Keep old methods for backward compatibility
+
 	public void sendCampaignActivity(CampaignActivityMessage message) {
 		String destination = "/topic/campaign/" + message.campaignId() + "/activities";
 		messagingTemplate.convertAndSend(destination, message);
@@ -1,6 +1,7 @@
 package com.nht.core_service.service.impl;
 
 import com.mongodb.client.result.UpdateResult;
+import com.nht.core_service.cache.CampaignDetailCache;
 import com.nht.core_service.config.KafkaTopicConfig;
 import com.nht.core_service.document.Campaign;
 import com.nht.core_service.document.WithdrawalRequest;
@@ -15,6 +16,7 @@ import com.nht.core_service.kafka.event.FaceVerificationRequestEvent;
 import com.nht.core_service.kafka.producer.FaceVerificationProducer;
 import com.nht.core_service.repository.mongodb.CampaignRepository;
 import com.nht.core_service.repository.mongodb.WithdrawalRequestRepository;
+import com.nht.core_service.service.OutboxService;
 import com.nht.core_service.service.WithdrawalRequestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,10 +28,10 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -41,31 +43,31 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
     private final CampaignRepository campaignRepository;
     private final MongoTemplate mongoTemplate;
     private final FaceVerificationProducer faceVerificationProducer;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final CampaignDetailCache campaignDetailCache;
+    private final WithdrawalStateMachine withdrawalStateMachine;
 
     @Override
     @Transactional
     public WithdrawalRequestResponse createWithdrawalRequest(CreateWithdrawalRequest request) {
-        List<WithdrawalRequest> waitingProofs = withdrawalRequestRepository
-                .findByCampaignIdAndStatus(request.campaignId(), WithdrawalStatus.WAITING_PROOF);
-        List<WithdrawalRequest> processing = withdrawalRequestRepository.findByCampaignIdAndStatus(request.campaignId(),
-                WithdrawalStatus.PROCESSING);
-        List<WithdrawalRequest> pendings = withdrawalRequestRepository.findByCampaignIdAndStatus(request.campaignId(),
-                WithdrawalStatus.PENDING);
-
-        if (!waitingProofs.isEmpty() || !processing.isEmpty()) {
+        // One status-in query covers both the blocking check and the requests to supersede
+        Query openQuery = new Query(Criteria.where("campaignId").is(request.campaignId())
+                .and("status").in(WithdrawalStatus.WAITING_PROOF, WithdrawalStatus.PROCESSING, WithdrawalStatus.PENDING));
+        openQuery.fields().include("status");
+        List<WithdrawalRequest> open = mongoTemplate.find(openQuery, WithdrawalRequest.class);
+
+        if (open.stream().anyMatch(w -> w.getStatus() != WithdrawalStatus.PENDING)) {
             throw new AppException(ErrorCode.WITHDRAWAL_ALREADY_APPROVED);
         }
 
-        // Cancel previous pending requests if any
-        if (!pendings.isEmpty()) {
-            for (WithdrawalRequest pending : pendings) {
-                pending.setStatus(WithdrawalStatus.CANCELLED);
-                pending.setAiAnalysisResult("Superseded by a newer request");
-            }
-            withdrawalRequestRepository.saveAll(pendings);
+        // Cancel previous pending requests if any; ones approved or rejected meanwhile are left alone
+        if (!open.isEmpty()) {
+            List<String> pendingIds = open.stream().map(WithdrawalRequest::getId).toList();
+            long cancelled = withdrawalStateMachine.transitionAll(pendingIds,
+                    WithdrawalStatus.PENDING, WithdrawalStatus.CANCELLED,
+                    new Update().set("aiAnalysisResult", "Superseded by a newer request"));
             log.info("Cancelled {} previous pending withdrawal requests for campaign: {}",
-                    pendings.size(), request.campaignId());
+                    cancelled, request.campaignId());
         }
 
         if (request.quick()) {
@@ -77,6 +79,7 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
             UpdateResult updateResult = mongoTemplate.updateFirst(query, update, Campaign.class);
             if (updateResult.getModifiedCount() == 0)
                 throw new AppException(ErrorCode.QUICK_WITHDRAWAL_ALREADY_USED);
+            campaignDetailCache.evict(request.campaignId());
         }
 
         WithdrawalRequest withdrawalRequest = WithdrawalRequest.builder()
@@ -88,7 +91,7 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
                 .selfieImageUrl(request.selfieImageUrl())
                 .faceVerificationStatus(FaceVerificationStatus.PENDING)
                 .build();
-        WithdrawalRequest saved = withdrawalRequestRepository.save(withdrawalRequest);
+        WithdrawalRequest saved = withdrawalRequestRepository.insert(withdrawalRequest);
 
         // Send face verification event to AI service
         // We need the campaign owner's KYC image — get from campaign
@@ -145,10 +148,7 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
 
     @Override
     public void changeWithdrawalRequestStatus(String id) {
-        WithdrawalRequest withdrawalRequest = withdrawalRequestRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND));
-        withdrawalRequest.setStatus(WithdrawalStatus.APPROVED);
-        withdrawalRequestRepository.save(withdrawalRequest);
+        withdrawalStateMachine.transition(id, WithdrawalStatus.PENDING, WithdrawalStatus.APPROVED, null);
     }
 
     @Override
@@ -185,17 +185,10 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
     @Override
     public WithdrawalRequestResponse approveWithdrawal(String id) {
         log.info("Approving withdrawal request: {}", id);
-        WithdrawalRequest withdrawalRequest = withdrawalRequestRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND));
-
-        if (withdrawalRequest.getStatus() != WithdrawalStatus.PENDING) {
-            throw new AppException(ErrorCode.INVALID_STATUS);
-        }
-
-        withdrawalRequest.setStatus(WithdrawalStatus.WAITING_PROOF);
-        WithdrawalRequest saved = withdrawalRequestRepository.save(withdrawalRequest);
+        WithdrawalRequest withdrawalRequest = withdrawalStateMachine.transition(
+                id, WithdrawalStatus.PENDING, WithdrawalStatus.WAITING_PROOF, null);
 
-        // Publish withdrawal event to blockchain-service
+        // Withdrawal event for blockchain-service, delivered by the outbox relay
         try {
             Map<String, Object> event = Map.of(
                     "withdrawalId", id,
@@ -203,43 +196,35 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
                     "amount", withdrawalRequest.getAmount(),
                     "reason", withdrawalRequest.getReason() != null ? withdrawalRequest.getReason() : "",
                     "type", withdrawalRequest.getType().name());
-            kafkaTemplate.send(KafkaTopicConfig.WITHDRAWAL_EVENTS_TOPIC, id, event);
-            log.info("Published withdrawal event to Kafka: withdrawalId={}", id);
+            outboxService.appendMongo(KafkaTopicConfig.WITHDRAWAL_EVENTS_TOPIC, id, event);
+            log.info("Queued withdrawal event in outbox: withdrawalId={}", id);
         } catch (Exception e) {
-            log.error("Failed to publish withdrawal event to Kafka for withdrawalId={}", id, e);
+            // Without the event blockchain-service never moves the funds, so undo the approval
+            log.error("Failed to queue withdrawal event in outbox for withdrawalId={}, reverting approval", id, e);
+            withdrawalStateMachine.revertApproval(id, withdrawalRequest.getVersion());
+            throw new AppException(ErrorCode.WITHDRAWAL_EVENT_QUEUE_FAILED);
         }
 
         log.info("Withdrawal request approved and set to WAITING_PROOF: {}", id);
 
-        return toWithdrawalRequestResponse(saved);
+        return toWithdrawalRequestResponse(withdrawalRequest);
     }
 
     @Override
     public WithdrawalRequestResponse rejectWithdrawal(String id, String reason) {
         log.info("Rejecting withdrawal request: {} with reason: {}", id, reason);
-        WithdrawalRequest withdrawalRequest = withdrawalRequestRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND));
-
-        if (withdrawalRequest.getStatus() != WithdrawalStatus.PENDING) {
-            throw new AppException(ErrorCode.INVALID_STATUS);
-        }
-
-        withdrawalRequest.setStatus(WithdrawalStatus.REJECTED);
-        withdrawalRequest.setAiAnalysisResult(reason);
-        WithdrawalRequest saved = withdrawalRequestRepository.save(withdrawalRequest);
+        WithdrawalRequest withdrawalRequest = withdrawalStateMachine.transition(
+                id, WithdrawalStatus.PENDING, WithdrawalStatus.REJECTED, new Update().set("aiAnalysisResult", reason));
 
         log.info("Withdrawal request rejected: {}", id);
 
-        return toWithdrawalRequestResponse(saved);
+        return toWithdrawalRequestResponse(withdrawalRequest);
     }
 
     @Override
     public void updateFaceVerificationResult(FaceVerificationCallbackRequest request) {
         log.info("Updating face verification result for withdrawal: {}", request.withdrawalId());
 
-        WithdrawalRequest withdrawalRequest = withdrawalRequestRepository.findById(request.withdrawalId())
-                .orElseThrow(() -> new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND));
-
         // Map status string to enum
         FaceVerificationStatus faceStatus;
         try {
@@ -249,10 +234,16 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
             faceStatus = FaceVerificationStatus.WARNING;
         }
 
-        withdrawalRequest.setFaceVerificationStatus(faceStatus);
-        withdrawalRequest.setFaceVerificationLog(request.analysisLog());
-
-        withdrawalRequestRepository.save(withdrawalRequest);
+        // Targeted update so a late callback cannot overwrite a concurrent status transition
+        UpdateResult result = mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(request.withdrawalId())),
+                new Update().set("faceVerificationStatus", faceStatus)
+                        .set("faceVerificationLog", request.analysisLog())
+                        .set("updatedAt", Instant.now()),
+                WithdrawalRequest.class);
+        if (result.getMatchedCount() == 0) {
+            throw new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND);
+        }
         log.info("Face verification updated for withdrawal: {} -> status: {}, score: {}",
                 request.withdrawalId(), faceStatus, request.score());
     }
@@ -264,6 +255,16 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
         WithdrawalRequest withdrawalRequest = withdrawalRequestRepository.findById(request.withdrawalId())
                 .orElseThrow(() -> new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND));
 
+        // Claim the callback first so a redelivered one does not add the amount twice
+        UpdateResult claimed = mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(request.withdrawalId()).and("fundsTransferredAt").exists(false)),
+                new Update().set("fundsTransferredAt", Instant.now()),
+                WithdrawalRequest.class);
+        if (claimed.getModifiedCount() == 0) {
+            log.warn("Withdrawal {} already applied to usedAmount, skipping", request.withdrawalId());
+            return;
+        }
+
         // Update campaign usedAmount atomically
         try {
             Query query = new Query(Criteria.where("id").is(withdrawalRequest.getCampaignId()));
@@ -271,6 +272,7 @@ public class WithdrawalRequestServiceImpl implements WithdrawalRequestService {
             mongoTemplate.updateFirst(query, update, Campaign.class);
             log.info("Updated campaign usedAmount from blockchain callback: campaignId={}, amount={}",
                     withdrawalRequest.getCampaignId(), request.amount());
+            campaignDetailCache.evict(withdrawalRequest.getCampaignId());
         } catch (Exception e) {
             log.error("Failed to update campaign usedAmount from callback for campaignId={}",
                     withdrawalRequest.getCampaignId(), e);
@@ -0,0 +1,172 @@
+package com.nht.core_service.service.impl;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.result.UpdateResult;
+import com.nht.core_service.document.WithdrawalRequest;
+import com.nht.core_service.enums.WithdrawalStatus;
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Withdrawal status transitions, each applied as one conditional update on {_id, status}.
+ * A transition that loses a race matches nothing instead of overwriting the winner.
+ * <p>
+ * Every transition also bumps {@code version}. A caller acting on a request it read earlier
+ * passes that read's version as well, so the update also misses if the request went through
+ * other transitions in between and came back to the same status.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WithdrawalStateMachine {
+
+	private static final Map<WithdrawalStatus, Set<WithdrawalStatus>> TRANSITIONS =
+			new EnumMap<>(WithdrawalStatus.class);
+
+	static {
+		TRANSITIONS.put(WithdrawalStatus.PENDING, EnumSet.of(
+				WithdrawalStatus.APPROVED, WithdrawalStatus.WAITING_PROOF,
+				WithdrawalStatus.REJECTED, WithdrawalStatus.CANCELLED));
+		TRANSITIONS.put(WithdrawalStatus.APPROVED, EnumSet.of(
+				WithdrawalStatus.WAITING_PROOF, WithdrawalStatus.PROCESSING, WithdrawalStatus.COMPLETED));
+		TRANSITIONS.put(WithdrawalStatus.WAITING_PROOF, EnumSet.of(
+				WithdrawalStatus.PROCESSING, WithdrawalStatus.COMPLETED));
+		TRANSITIONS.put(WithdrawalStatus.PROCESSING, EnumSet.of(WithdrawalStatus.COMPLETED));
+	}
+
+	private final MongoTemplate mongoTemplate;
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * Moves the request from {@code from} to {@code to}, or fails with WITHDRAWAL_NOT_FOUND / INVALID_STATUS.
+	 */
+	public WithdrawalRequest transition(String id, WithdrawalStatus from, WithdrawalStatus to, Update extra) {
+		return transition(id, from, null, to, extra);
+	}
+
+	/**
+	 * Same as {@link #transition(String, WithdrawalStatus, WithdrawalStatus, Update)}, and only if the
+	 * request is still at {@code expectedVersion}; null skips the version check.
+	 */
+	public WithdrawalRequest transition(
+			String id, WithdrawalStatus from, Long expectedVersion, WithdrawalStatus to, Update extra) {
+		WithdrawalRequest updated = tryTransition(id, from, expectedVersion, to, extra);
+		if (updated != null) {
+			return updated;
+		}
+		if (!mongoTemplate.exists(new Query(Criteria.where("id").is(id)), WithdrawalRequest.class)) {
+			throw new AppException(ErrorCode.WITHDRAWAL_NOT_FOUND);
+		}
+		throw new AppException(ErrorCode.INVALID_STATUS);
+	}
+
+	/**
+	 * Same as {@link #transition} but returns null when the request is missing or no longer in {@code from}.
+	 */
+	public WithdrawalRequest tryTransition(String id, WithdrawalStatus from, WithdrawalStatus to, Update extra) {
+		return tryTransition(id, from, null, to, extra);
+	}
+
+	/**
+	 * Same as {@link #transition(String, WithdrawalStatus, Long, WithdrawalStatus, Update)} but returns
+	 * null when the request is missing, no longer in {@code from} or no longer at {@code expectedVersion}.
+	 */
+	public WithdrawalRequest tryTransition(
+			String id, WithdrawalStatus from, Long expectedVersion, WithdrawalStatus to, Update extra) {
+		requireAllowed(from, to);
+		Update update = extra != null ? extra : new Update();
+		update.set("status", to).inc("version", 1).set("updatedAt", Instant.now());
+
+		WithdrawalRequest updated = mongoTemplate.findAndModify(
+				new Query(current(id, from, expectedVersion)),
+				update,
+				FindAndModifyOptions.options().returnNew(true),
+				WithdrawalRequest.class);
+		record(from, to, updated != null ? "applied" : "conflict", 1);
+		if (updated == null) {
+			log.warn("Withdrawal {} transition {} -> {} lost: not found or status already changed", id, from, to);
+		}
+		return updated;
+	}
+
+	/**
+	 * Compensation for an approval whose outbox event could not be stored: WAITING_PROOF back
+	 * to PENDING. Deliberately outside {@code TRANSITIONS} so no regular flow can take it, and
+	 * bound to {@code approvedVersion}, the version the approval produced, so it only ever
+	 * undoes that approval.
+	 */
+	public void revertApproval(String id, Long approvedVersion) {
+		WithdrawalRequest reverted = mongoTemplate.findAndModify(
+				new Query(current(id, WithdrawalStatus.WAITING_PROOF, approvedVersion)),
+				new Update().set("status", WithdrawalStatus.PENDING).inc("version", 1).set("updatedAt", Instant.now()),
+				FindAndModifyOptions.options().returnNew(true),
+				WithdrawalRequest.class);
+		record(WithdrawalStatus.WAITING_PROOF, WithdrawalStatus.PENDING, reverted != null ? "reverted" : "conflict", 1);
+		if (reverted == null) {
+			log.error("Withdrawal {} could not be reverted to PENDING: it changed since the approval", id);
+		}
+	}
+
+	/**
+	 * Moves every listed request still in {@code from} to {@code to} with one updateMulti.
+	 * Returns how many were actually moved; the rest changed status concurrently.
+	 */
+	public long transitionAll(Collection<String> ids, WithdrawalStatus from, WithdrawalStatus to, Update extra) {
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		requireAllowed(from, to);
+		Update update = extra != null ? extra : new Update();
+		update.set("status", to).inc("version", 1).set("updatedAt", Instant.now());
+
+		UpdateResult result = mongoTemplate.updateMulti(
+				new Query(Criteria.where("id").in(ids).and("status").is(from)),
+				update,
+				WithdrawalRequest.class);
+		long moved = result.getModifiedCount();
+		record(from, to, "applied", moved);
+		record(from, to, "conflict", ids.size() - moved);
+		return moved;
+	}
+
+	private static Criteria current(String id, WithdrawalStatus from, Long expectedVersion) {
+		Criteria criteria = Criteria.where("id").is(id).and("status").is(from);
+		if (expectedVersion == null) {
+			return criteria;
+		}
+		// Requests stored before the field existed read as 0 but have no version in the document
+		return expectedVersion == 0
+				? criteria.and("version").in(0L, null)
+				: criteria.and("version").is(expectedVersion);
+	}
+
+	private void requireAllowed(WithdrawalStatus from, WithdrawalStatus to) {
+		if (!TRANSITIONS.getOrDefault(from, Set.of()).contains(to)) {
+			throw new IllegalArgumentException("Illegal withdrawal transition " + from + " -> " + to);
+		}
+	}
+
+	private void record(WithdrawalStatus from, WithdrawalStatus to, String result, long amount) {
+		if (amount > 0) {
+			meterRegistry.counter("withdrawal.transition",
+					"from", from.name(), "to", to.name(), "result", result).increment(amount);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.nht.core_service.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over strings.
+ * Sized from the expected number of insertions and the target false-positive rate;
+ * uses double hashing (Kirsch-Mitzenmacher) over two 64-bit hashes of the UTF-8 bytes.
+ */
+public final class BloomFilter {
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final long SECOND_SEED = 0x9e3779b97f4a7c15L;
+
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashCount;
+	private final AtomicLong insertions = new AtomicLong();
+
+	public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+		long n = Math.max(1, expectedInsertions);
+		double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+		long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+		int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+		this.bits = new AtomicLongArray(words);
+		this.bitCount = (long) words * 64;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+	}
+
+	public void put(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		long h1 = hash(bytes, FNV_OFFSET);
+		long h2 = hash(bytes, SECOND_SEED) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(h1 + i * h2, bitCount);
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+			long current;
+			do {
+				current = bits.get(word);
+				if ((current & mask) != 0) {
+					break;
+				}
+			} while (!bits.compareAndSet(word, current, current | mask));
+		}
+		insertions.incrementAndGet();
+	}
+
+	public boolean mightContain(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		long h1 = hash(bytes, FNV_OFFSET);
+		long h2 = hash(bytes, SECOND_SEED) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(h1 + i * h2, bitCount);
+			if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public long insertions() {
+		return insertions.get();
+	}
+
+	/**
+	 * Theoretical false-positive rate at the current fill: (1 - e^(-kn/m))^k.
+	 */
+	public double expectedFalsePositiveRate() {
+		return Math.pow(1 - Math.exp(-hashCount * (double) insertions.get() / bitCount), hashCount);
+	}
+
+	// FNV-1a followed by the MurmurHash3 64-bit finalizer for better bit dispersion
+	private static long hash(byte[] bytes, long seed) {
+		long h = seed;
+		for (byte b : bytes) {
+			h ^= b;
+			h *= FNV_PRIME;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb93fe53e63c5L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
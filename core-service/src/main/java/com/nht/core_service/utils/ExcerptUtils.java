@@ -0,0 +1,29 @@
+package com.nht.core_service.utils;
+
+/**
+ * Builds the short plain-text excerpt stored next to long narratives
+ * (e.g. {@code Campaign.excerpt}) so list pages never load the full text.
+ */
+public final class ExcerptUtils {
+
+    public static final int DEFAULT_MAX_LENGTH = 200;
+    private static final String ELLIPSIS = "…";
+
+    private ExcerptUtils() {}
+
+    public static String excerptOf(String text) {
+        return excerptOf(text, DEFAULT_MAX_LENGTH);
+    }
+
+    public static String excerptOf(String text, int maxLength) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = text.strip().replaceAll("\\s+", " ");
+        if (normalized.codePointCount(0, normalized.length()) <= maxLength) {
+            return normalized;
+        }
+        int end = normalized.offsetByCodePoints(0, maxLength);
+        return normalized.substring(0, end).stripTrailing() + ELLIPSIS;
+    }
+}
@@ -89,6 +89,23 @@ public class JwtUtils {
         return claim != null ? claim.toString() : null;
     }
 
+    /**
+     * Get the user ID from the current JWT token without requiring authentication.
+     * Used on public endpoints that behave slightly differently for signed-in users.
+     *
+     * @return the user ID, or null if the request carries no valid JWT
+     */
+    public static String findUserIdFromToken() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+            return null;
+        }
+
+        Object userId = jwt.getClaim("user_id");
+        return userId != null ? userId.toString() : null;
+    }
+
     /**
      * Get the user ID from the current JWT token
      * 
@@ -0,0 +1,70 @@
+package com.nht.core_service.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a fixed number of single-threaded lanes, chosen by key hash, so tasks
+ * sharing a key run one at a time in submission order while different keys run in parallel.
+ * <p>
+ * Each lane has a bounded queue; when it is full {@link #execute(String, Runnable)} throws
+ * {@link RejectedExecutionException} straight away rather than blocking the submitter.
+ * Queued tasks live only in memory and are lost if the process dies, so callers must
+ * be able to repair what a dropped task would have done.
+ */
+public final class KeyedSerialExecutor implements AutoCloseable {
+
+	private final ThreadPoolExecutor[] lanes;
+
+	public KeyedSerialExecutor(String name, int laneCount, int queueCapacity, boolean virtualThreads) {
+		this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+		for (int i = 0; i < lanes.length; i++) {
+			ThreadFactory threadFactory = virtualThreads
+					? Thread.ofVirtual().name(name + "-" + i).factory()
+					: Thread.ofPlatform().name(name + "-" + i).daemon(true).factory();
+			lanes[i] = new ThreadPoolExecutor(
+					1, 1, 0L, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+					threadFactory,
+					(task, executor) -> {
+						throw new RejectedExecutionException(
+								executor.isShutdown() ? name + " is shut down" : name + " lane is full");
+					});
+		}
+	}
+
+	/**
+	 * Queues the task on the key's lane, or throws {@link RejectedExecutionException} if that lane is full.
+	 */
+	public void execute(String key, Runnable task) {
+		lanes[Math.floorMod(key.hashCode(), lanes.length)].execute(task);
+	}
+
+	public int queuedTasks() {
+		int queued = 0;
+		for (ThreadPoolExecutor lane : lanes) {
+			queued += lane.getQueue().size();
+		}
+		return queued;
+	}
+
+	/**
+	 * Stops accepting tasks and waits briefly for queued ones to finish.
+	 */
+	@Override
+	public void close() {
+		for (ThreadPoolExecutor lane : lanes) {
+			lane.shutdown();
+		}
+		try {
+			for (ThreadPoolExecutor lane : lanes) {
+				lane.awaitTermination(10, TimeUnit.SECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
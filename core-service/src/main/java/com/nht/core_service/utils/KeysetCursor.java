@@ -0,0 +1,43 @@
+package com.nht.core_service.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+
+/**
+ * Opaque keyset cursor made of the last row's {@code createdAt} and {@code id}.
+ * Encoded as URL-safe Base64 of {@code <epochMillis>:<id>}.
+ */
+public record KeysetCursor(Instant createdAt, String id) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for a blank token (first page)
+     * @throws AppException INVALID_CURSOR if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex <= 0 || separatorIndex == raw.length() - 1) {
+                throw new AppException(ErrorCode.INVALID_CURSOR);
+            }
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separatorIndex)));
+            return new KeysetCursor(createdAt, raw.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nht.core_service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PendingPaymentCodeFilterTest {
+
+	@Test
+	void readsIssueTimeFromGeneratedCode() {
+		assertThat(PendingPaymentCodeFilter.issuedAt("TS1700000000123AB12CD")).isEqualTo(1_700_000_000_123L);
+	}
+
+	@Test
+	void unknownShapeHasNoIssueTime() {
+		assertThat(PendingPaymentCodeFilter.issuedAt(null)).isEqualTo(-1);
+		assertThat(PendingPaymentCodeFilter.issuedAt("TS123")).isEqualTo(-1);
+		assertThat(PendingPaymentCodeFilter.issuedAt("XX1700000000123AB12CD")).isEqualTo(-1);
+		assertThat(PendingPaymentCodeFilter.issuedAt("TS17000000001X3AB12CD")).isEqualTo(-1);
+	}
+}
@@ -0,0 +1,55 @@
+package com.nht.core_service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void neverReportsAnInsertedValueAsAbsent() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("TS" + (1_700_000_000_000L + i) + "ABC123");
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(filter.mightContain("TS" + (1_700_000_000_000L + i) + "ABC123")).isTrue();
+		}
+		assertThat(filter.insertions()).isEqualTo(10_000);
+	}
+
+	@Test
+	void keepsFalsePositivesNearTheTargetRateAtCapacity() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("present-" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("absent-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+		assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+	}
+
+	@Test
+	void emptyFilterContainsNothing() {
+		BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+		assertThat(filter.mightContain("anything")).isFalse();
+		assertThat(filter.expectedFalsePositiveRate()).isZero();
+	}
+
+	@Test
+	void clampsDegenerateSizing() {
+		// Zero insertions and a rate of 1 would otherwise size a filter with no bits or no hashes
+		BloomFilter filter = new BloomFilter(0, 1.0);
+		filter.put("only");
+
+		assertThat(filter.mightContain("only")).isTrue();
+	}
+}
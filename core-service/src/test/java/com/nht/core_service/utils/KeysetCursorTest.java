@@ -0,0 +1,66 @@
+package com.nht.core_service.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.nht.core_service.exception.AppException;
+import com.nht.core_service.exception.ErrorCode;
+
+class KeysetCursorTest {
+
+	@Test
+	void roundTripsCreatedAtAndId() {
+		KeysetCursor cursor = new KeysetCursor(Instant.ofEpochMilli(1_700_000_000_123L), "65a1f0c2e4b0a1b2c3d4e5f6");
+
+		KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+		assertThat(decoded).isEqualTo(cursor);
+	}
+
+	@Test
+	void keepsSeparatorsInsideTheId() {
+		KeysetCursor cursor = new KeysetCursor(Instant.ofEpochMilli(42), "campaign:1:comment");
+
+		assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodesUrlSafeWithoutPadding() {
+		String token = new KeysetCursor(Instant.ofEpochMilli(1_700_000_000_000L), "a?b/c+d").encode();
+
+		assertThat(token).doesNotContain("=", "+", "/");
+	}
+
+	@Test
+	void blankTokenMeansFirstPage() {
+		assertThat(KeysetCursor.decode(null)).isNull();
+		assertThat(KeysetCursor.decode("")).isNull();
+		assertThat(KeysetCursor.decode("   ")).isNull();
+	}
+
+	@Test
+	void rejectsTokenThatIsNotBase64() {
+		assertInvalid("not base64!");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"1700000000000", ":id", "1700000000000:", "abc:id"})
+	void rejectsMalformedPayloads(String payload) {
+		assertInvalid(Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static void assertInvalid(String token) {
+		assertThatThrownBy(() -> KeysetCursor.decode(token))
+				.isInstanceOf(AppException.class)
+				.extracting(e -> ((AppException) e).getErrorCode())
+				.isEqualTo(ErrorCode.INVALID_CURSOR);
+	}
+}
@@ -140,12 +140,63 @@ CREATE INDEX idx_proof_campaign_id ON proof(campaign_id);
 CREATE INDEX idx_proof_status ON proof(status);
 CREATE INDEX idx_proof_ai_analysis_status ON proof(ai_analysis_status);
 
+-- Create PaymentWebhookJournal table: bank webhooks appended before they are acknowledged
+CREATE TABLE IF NOT EXISTS payment_webhook_journal (
+    id BIGSERIAL PRIMARY KEY,
+    webhook_id VARCHAR(255) NOT NULL UNIQUE,
+    content TEXT,
+    transfer_amount NUMERIC(19, 2),
+    reference_code VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    last_error TEXT,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+CREATE INDEX idx_payment_webhook_journal_status_id ON payment_webhook_journal(status, id);
+
+-- Create OutboxEvent table: Kafka messages written with the state change, published by the relay
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGSERIAL PRIMARY KEY,
+    topic VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255),
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    published_at TIMESTAMP,
+    dead_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_event_published_at_id ON outbox_event(published_at, id);
+
+-- Create CampaignDonationStats table: running totals upserted when a donation completes
+CREATE TABLE IF NOT EXISTS campaign_donation_stats (
+    campaign_id VARCHAR(255) PRIMARY KEY,
+    donation_count BIGINT NOT NULL DEFAULT 0,
+    total_amount NUMERIC(19, 2) NOT NULL DEFAULT 0.00,
+    unique_donors BIGINT NOT NULL DEFAULT 0,
+    last_donation_at TIMESTAMP
+);
+
+-- Create CampaignDonor table: one row per distinct donor (lower-cased email, else name)
+CREATE TABLE IF NOT EXISTS campaign_donor (
+    id BIGSERIAL PRIMARY KEY,
+    campaign_id VARCHAR(255) NOT NULL,
+    donor_key VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_campaign_donor_campaign_donor UNIQUE (campaign_id, donor_key)
+);
+
 -- Add comments for documentation
 COMMENT ON TABLE wallet IS 'Stores wallet information for each campaign';
 COMMENT ON TABLE transaction IS 'Records all financial transactions (deposits and withdrawals)';
 COMMENT ON TABLE donation IS 'Stores detailed donation information including donor details';
 COMMENT ON TABLE transaction_error IS 'Logs unidentified transactions that need manual resolution';
 COMMENT ON TABLE proof IS 'Stores proof documents for withdrawal requests';
+COMMENT ON TABLE payment_webhook_journal IS 'Journaled bank webhooks, drained in batches by the webhook processor';
+COMMENT ON TABLE outbox_event IS 'Transactional outbox for Kafka messages';
+COMMENT ON TABLE campaign_donation_stats IS 'Per-campaign totals of completed donations, maintained incrementally';
+COMMENT ON TABLE campaign_donor IS 'Distinct donors per campaign, used to count unique donors';
 
 -- Success message
 SELECT 'Transaction database initialized successfully!' AS status;
@@ -67,6 +67,13 @@ async function handleRequest(
       headers.set("Authorization", `Bearer ${accessToken}`);
     }
 
+    // Chuyển tiếp IP của client để Gateway giới hạn tốc độ và Core đếm lượt xem theo từng người,
+    // không phải theo IP của proxy này (Gateway chỉ tin header này khi proxy nằm trong trusted-proxies)
+    const forwardedFor = request.headers.get("x-forwarded-for") ?? request.headers.get("x-real-ip");
+    if (forwardedFor) {
+      headers.set("x-forwarded-for", forwardedFor);
+    }
+
     // Xử lý Body (Hỗ trợ cả JSON, FormData, Multipart...)
     let body: any = undefined;
     if (["POST", "PUT", "PATCH"].includes(method)) {